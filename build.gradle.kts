@@ -9,16 +9,50 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    // benchmarks - run through the "jmh" task
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 dependencies {
     // compile time
     compileOnly("com.jsoniter:jsoniter:0.9.23")
     compileOnly("com.github.ben-manes.caffeine:caffeine:3.0.4")
 
     // test
+    testImplementation("com.jsoniter:jsoniter:0.9.23")
+    testImplementation("com.github.ben-manes.caffeine:caffeine:3.0.4")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.7.0")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.7.0")
+
+    // benchmark
+    "jmhImplementation"("com.jsoniter:jsoniter:0.9.23")
+    "jmhImplementation"("com.github.ben-manes.caffeine:caffeine:3.0.4")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// run the benchmarks with the GC profiler, reporting the allocation rate of every benchmark
+// narrow them down with -Pjmh.include=<regex>
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(
+        project.findProperty("jmh.include") ?: ".*",
+        "-prof", "gc",
+        "-rf", "json",
+        "-rff", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path
+    )
+    doFirst {
+        layout.buildDirectory.dir("reports/jmh").get().asFile.mkdirs()
+    }
+}
@@ -0,0 +1,90 @@
+package xyz.oliwer.placeholder.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.def.ApiPlaceholder;
+import xyz.oliwer.placeholder.json.impl.JsoniterParser;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This class represents the benchmarks of the cache hit and miss paths of {@link ApiPlaceholder},
+ * against an in-process stub server.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiPlaceholderBenchmark {
+  private static final byte[] BODY = "{\"user\":{\"name\":\"Oliwer\",\"tags\":[\"a\",\"b\",\"c\"]}}".getBytes(UTF_8);
+
+  private final AtomicLong misses = new AtomicLong();
+  private HttpServer server;
+  private ApiPlaceholder placeholder;
+  private DefaultData hit;
+
+  @Setup
+  public void setup() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      exchange.sendResponseHeaders(200, BODY.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(BODY);
+      }
+    });
+    server.start();
+
+    placeholder = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .maximumSize(1_024)
+      .build();
+    hit = this.data("hit");
+    placeholder.parse(null, hit);
+  }
+
+  @TearDown
+  public void tearDown() {
+    placeholder.destroy();
+    server.stop(0);
+  }
+
+  @Benchmark
+  public Object cache_hit() {
+    return placeholder.parse(null, hit);
+  }
+
+  @Benchmark
+  public Object cache_miss() {
+    return placeholder.parse(null, this.data("miss-" + misses.incrementAndGet()));
+  }
+
+  /**
+   * Create the default data of an invocation fetching the user name.
+   */
+  private DefaultData data(String path) {
+    final var url = format("http://127.0.0.1:%s/%s", server.getAddress().getPort(), path);
+    final var origin = format("<api(%s,user.name,GET,accept=json,none=none)>", url);
+    return new DefaultData(origin, origin.indexOf('(') + 1, origin.lastIndexOf(')'), ',', '<', '>');
+  }
+}
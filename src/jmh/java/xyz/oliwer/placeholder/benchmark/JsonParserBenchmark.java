@@ -0,0 +1,89 @@
+package xyz.oliwer.placeholder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.json.JsonPath;
+import xyz.oliwer.placeholder.json.impl.JsoniterParser;
+import xyz.oliwer.placeholder.json.impl.TapeParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This class represents the throughput benchmarks of {@link JsoniterParser} against {@link TapeParser},
+ * reading a few paths out of a response of growing size.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParserBenchmark {
+  @Param({"10", "1000"})
+  public int elements;
+
+  private final JsonParser jsoniter = new JsoniterParser();
+  private final JsonParser tape = new TapeParser();
+
+  private final JsonPath path = JsonPath.compile("data.[1].name");
+  private final List<JsonPath> paths = List.of(
+    JsonPath.compile("data.[1].name"),
+    JsonPath.compile("data.[0].tags.[1]"),
+    JsonPath.compile("total")
+  );
+
+  private String content;
+  private byte[] body;
+
+  @Setup
+  public void setup() {
+    // build a response of objects, the paths read being in the first few ones
+    final var builder = new StringBuilder("{\"data\":[");
+    for (int index = 0; index < elements; index++) {
+      if (index > 0)
+        builder.append(',');
+      builder
+        .append("{\"id\":").append(index)
+        .append(",\"name\":\"user ").append(index)
+        .append("\",\"tags\":[\"a\",\"b\",\"c\"],\"active\":true}");
+    }
+    content = builder.append("],\"total\":").append(elements).append('}').toString();
+    body = content.getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public String jsoniter_navigate() {
+    return path.resolve(jsoniter.deserialize(content)).toString();
+  }
+
+  @Benchmark
+  public String tape_navigate() {
+    return path.resolve(tape.deserialize(content)).toString();
+  }
+
+  @Benchmark
+  public Map<JsonPath, String> jsoniter_extract() {
+    return jsoniter.extract(body, paths);
+  }
+
+  @Benchmark
+  public Map<JsonPath, String> tape_extract() {
+    return tape.extract(body, paths);
+  }
+}
@@ -0,0 +1,90 @@
+package xyz.oliwer.placeholder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.def.RandomPlaceholder;
+import xyz.oliwer.placeholder.def.RangePlaceholder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the throughput benchmarks of {@link RangePlaceholder} and {@link RandomPlaceholder}.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+  private final RangePlaceholder range = new RangePlaceholder();
+  private final RandomPlaceholder random = new RandomPlaceholder();
+  private final StringBuilder builder = new StringBuilder();
+
+  private final DefaultData single = data("<range(single,0,100)>");
+  private final DefaultData decimal = data("<range(decimal,0,1)>");
+  private final DefaultData formatted = data("<range(decimal,0,1,2)>");
+  private final DefaultData options = data("<random(a,b,c,d)>");
+
+  private final RangePlaceholder.Range boundSingle = range.bind(single);
+  private final RangePlaceholder.Range boundFormatted = range.bind(formatted);
+
+  @Benchmark
+  public Object range_single() {
+    return range.parse(null, single);
+  }
+
+  @Benchmark
+  public Object range_decimal() {
+    return range.parse(null, decimal);
+  }
+
+  @Benchmark
+  public Object range_decimal_formatted() {
+    return range.parse(null, formatted);
+  }
+
+  @Benchmark
+  public StringBuilder range_single_into() throws IOException {
+    builder.setLength(0);
+    range.parseInto(null, single, builder);
+    return builder;
+  }
+
+  @Benchmark
+  public StringBuilder range_single_bound() throws IOException {
+    builder.setLength(0);
+    range.parseInto(boundSingle, null, single, builder);
+    return builder;
+  }
+
+  @Benchmark
+  public StringBuilder range_decimal_formatted_bound() throws IOException {
+    builder.setLength(0);
+    range.parseInto(boundFormatted, null, formatted, builder);
+    return builder;
+  }
+
+  @Benchmark
+  public Object random() {
+    return random.parse(null, options);
+  }
+
+  /**
+   * Create the default data of an invocation, as a resolver would.
+   */
+  private static DefaultData data(String origin) {
+    return new DefaultData(origin, origin.indexOf('(') + 1, origin.lastIndexOf(')'), ',', '<', '>');
+  }
+}
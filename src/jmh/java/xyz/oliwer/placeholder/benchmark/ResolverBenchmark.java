@@ -0,0 +1,93 @@
+package xyz.oliwer.placeholder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.oliwer.placeholder.def.RandomPlaceholder;
+import xyz.oliwer.placeholder.def.RangePlaceholder;
+import xyz.oliwer.placeholder.parser.PatternResolver;
+import xyz.oliwer.placeholder.parser.ScanningResolver;
+import xyz.oliwer.placeholder.template.Template;
+
+import java.util.concurrent.TimeUnit;
+
+import static xyz.oliwer.placeholder.Placeholder.Resolver;
+
+/**
+ * This class represents the benchmarks of every resolver at different template sizes and placeholder counts.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolverBenchmark {
+  /** {@link Integer} the amount of literal characters in the template. **/
+  @Param({ "64", "4096" })
+  public int templateSize;
+
+  /** {@link Integer} the amount of placeholders in the template. **/
+  @Param({ "1", "10", "50" })
+  public int placeholderCount;
+
+  private Resolver<PatternResolver.Wrapper> pattern;
+  private Resolver<ScanningResolver.Wrapper> scanning;
+  private Template template;
+  private String origin;
+
+  @Setup
+  public void setup() {
+    pattern = new PatternResolver('<', '>')
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new RandomPlaceholder());
+    scanning = new ScanningResolver('<', '>')
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new RandomPlaceholder());
+
+    // spread the placeholders evenly over the literal text
+    final var builder = new StringBuilder();
+    final int run = templateSize / placeholderCount;
+    for (int index = 0; index < placeholderCount; index++) {
+      builder.append("x".repeat(run));
+      builder.append(index % 2 == 0 ? "<range(single,0,100)>" : "<random(a,b,c)>");
+    }
+    origin = builder.toString();
+    template = scanning.compile(origin);
+  }
+
+  @Benchmark
+  public String pattern_resolveAll() {
+    return pattern.resolveAll(origin);
+  }
+
+  @Benchmark
+  public String pattern_resolveSingle() {
+    return pattern.resolveSingle(origin, RangePlaceholder.class);
+  }
+
+  @Benchmark
+  public String scanning_resolveAll() {
+    return scanning.resolveAll(origin);
+  }
+
+  @Benchmark
+  public String scanning_resolveSingle() {
+    return scanning.resolveSingle(origin, RangePlaceholder.class);
+  }
+
+  @Benchmark
+  public String template_render() {
+    return template.render();
+  }
+}
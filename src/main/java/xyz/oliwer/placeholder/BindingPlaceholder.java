@@ -0,0 +1,66 @@
+package xyz.oliwer.placeholder;
+
+import xyz.oliwer.placeholder.data.DefaultData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * This interface represents a {@link Placeholder} binding its raw arguments into a typed, immutable invocation once.
+ * Resolvers cache the bound invocation per distinct invocation text and compiled templates bind at compile time,
+ * hence arguments are parsed and validated once rather than on every render.
+ *
+ * @see Bindings
+ * @param <B> type of bound invocation.
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public interface BindingPlaceholder<B> extends Placeholder {
+  /**
+   * Bind the arguments of an invocation.
+   *
+   * @param defaultData {@link DefaultData} the default data of the invocation.
+   * @return {@link Object} the bound invocation, or null if the arguments are malformed, rendering the origin as is.
+   */
+  B bind(DefaultData defaultData);
+
+  /**
+   * Parse a bound invocation and write the result into an appendable.
+   *
+   * @param bound {@link Object} the invocation bound by {@link BindingPlaceholder#bind(DefaultData)}.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data the invocation was bound from.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  void parseInto(B bound, Object customData, DefaultData defaultData, Appendable out) throws IOException;
+
+  /**
+   * Bind and parse, for callers without a cached binding.
+   *
+   * @see Placeholder#parse(Object, DefaultData)
+   */
+  @Override
+  default Object parse(Object customData, DefaultData defaultData) {
+    final var builder = new StringBuilder();
+    try {
+      this.parseInto(customData, defaultData, builder);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Bind and parse, for callers without a cached binding.
+   *
+   * @see Placeholder#parseInto(Object, DefaultData, Appendable)
+   */
+  @Override
+  default void parseInto(Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    final var bound = this.bind(defaultData);
+    if (bound == null)
+      out.append(defaultData.origin);
+    else
+      this.parseInto(bound, customData, defaultData, out);
+  }
+}
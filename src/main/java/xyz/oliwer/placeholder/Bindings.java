@@ -0,0 +1,108 @@
+package xyz.oliwer.placeholder;
+
+import xyz.oliwer.placeholder.data.DefaultData;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the bounded cache of invocations bound by a {@link BindingPlaceholder}, keyed by invocation text.
+ * Once full, the cache is cleared as a whole rather than evicting entry by entry, keeping it dependency free.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Bindings {
+  /** {@link Object} the binding of malformed arguments. **/
+  private static final Object MALFORMED = new Object();
+
+  /** {@link Integer} the default maximum amount of cached bindings. **/
+  public static final int DEFAULT_MAXIMUM_SIZE = 4_096;
+
+  /** {@link BindingPlaceholder} the placeholder binding the invocations. **/
+  private final BindingPlaceholder<?> placeholder;
+
+  /** {@link Integer} the maximum amount of cached bindings. **/
+  private final int maximumSize;
+
+  /** {@link Map} the binding of every invocation text. **/
+  private final Map<String, Object> bound = new ConcurrentHashMap<>();
+
+  /**
+   * Primary constructor.
+   *
+   * @param placeholder {@link BindingPlaceholder} the placeholder binding the invocations.
+   * @param maximumSize {@link Integer} the maximum amount of cached bindings.
+   */
+  public Bindings(BindingPlaceholder<?> placeholder, int maximumSize) {
+    this.placeholder = placeholder;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Create the bindings of a placeholder, if it binds its invocations.
+   *
+   * @param placeholder {@link Placeholder} the placeholder.
+   * @return {@link Bindings} the bindings, or null if the placeholder does not bind its invocations.
+   */
+  public static Bindings of(Placeholder placeholder) {
+    return placeholder instanceof BindingPlaceholder
+      ? new Bindings((BindingPlaceholder<?>) placeholder, DEFAULT_MAXIMUM_SIZE)
+      : null;
+  }
+
+  /**
+   * Parse an invocation with its cached binding, binding it on first use.
+   *
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data of the invocation.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  public void parseInto(Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    var binding = bound.get(defaultData.origin);
+    if (binding == null) {
+      binding = placeholder.bind(defaultData);
+      if (binding == null)
+        binding = MALFORMED;
+      if (bound.size() >= maximumSize)
+        bound.clear();
+      bound.put(defaultData.origin, binding);
+    }
+    parseInto(placeholder, binding == MALFORMED ? null : binding, customData, defaultData, out);
+  }
+
+  /**
+   * Parse an invocation bound beforehand, writing the origin as is if malformed.
+   *
+   * @param placeholder {@link BindingPlaceholder} the placeholder that bound the invocation.
+   * @param bound {@link Object} the bound invocation, null if malformed.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data of the invocation.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  @SuppressWarnings("unchecked")
+  public static <B> void parseInto(BindingPlaceholder<B> placeholder, Object bound, Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    if (bound == null)
+      out.append(defaultData.origin);
+    else
+      placeholder.parseInto((B) bound, customData, defaultData, out);
+  }
+
+  /**
+   * Get the amount of cached bindings.
+   *
+   * @return {@link Integer}
+   */
+  public int size() {
+    return bound.size();
+  }
+
+  /**
+   * Invalidate every cached binding.
+   */
+  public void invalidateAll() {
+    bound.clear();
+  }
+}
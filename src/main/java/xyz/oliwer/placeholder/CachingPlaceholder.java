@@ -0,0 +1,243 @@
+package xyz.oliwer.placeholder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.metrics.CacheSnapshot;
+import xyz.oliwer.placeholder.metrics.CacheStatsSource;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * This class represents a decorator of {@link Placeholder} memoising parse results by tag and parameters,
+ * optionally along with a key extracted from the custom data.
+ * The decorator registers as the type of the placeholder it wraps.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class CachingPlaceholder implements Placeholder, CacheStatsSource {
+  /**
+   * This class represents the builder of {@link CachingPlaceholder}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Builder {
+    private final Placeholder delegate;
+    private final Caffeine<Object, Object> cache = Caffeine.newBuilder();
+    private Function<Object, ?> keyExtractor;
+
+    private Builder(Placeholder delegate) {
+      this.delegate = delegate;
+    }
+
+    /**
+     * Set how long a result is cached for after being parsed.
+     *
+     * @param duration {@link Duration} the lifetime of a result.
+     * @return {@link Builder} current instance.
+     */
+    public Builder expireAfterWrite(Duration duration) {
+      cache.expireAfterWrite(duration);
+      return this;
+    }
+
+    /**
+     * Set how long a result is cached for after being last read.
+     *
+     * @param duration {@link Duration} the idle lifetime of a result.
+     * @return {@link Builder} current instance.
+     */
+    public Builder expireAfterAccess(Duration duration) {
+      cache.expireAfterAccess(duration);
+      return this;
+    }
+
+    /**
+     * Set the maximum amount of cached results.
+     *
+     * @param maximumSize {@link Long} the maximum amount of results.
+     * @return {@link Builder} current instance.
+     */
+    public Builder maximumSize(long maximumSize) {
+      cache.maximumSize(maximumSize);
+      return this;
+    }
+
+    /**
+     * Set the maximum weight of cached results, a result weighing its origin plus its string length.
+     *
+     * @param maximumWeight {@link Long} the maximum total weight of results.
+     * @return {@link Builder} current instance.
+     */
+    public Builder maximumWeight(long maximumWeight) {
+      cache
+        .maximumWeight(maximumWeight)
+        .weigher((Key key, Object value) -> key.origin.length() + value.toString().length());
+      return this;
+    }
+
+    /**
+     * Set the extractor of a key from the custom data, for placeholders whose results depend on it.
+     *
+     * @param keyExtractor {@link Function} the extractor of a key from the custom data.
+     * @return {@link Builder} current instance.
+     */
+    public Builder keyExtractor(Function<Object, ?> keyExtractor) {
+      this.keyExtractor = keyExtractor;
+      return this;
+    }
+
+    /**
+     * Build the decorator.
+     *
+     * @return {@link CachingPlaceholder}
+     */
+    public CachingPlaceholder build() {
+      return new CachingPlaceholder(this);
+    }
+  }
+
+  /** {@link Placeholder} the decorated placeholder. **/
+  private final Placeholder delegate;
+
+  /** {@link Function} the extractor of a key from the custom data, null if results do not depend on it. **/
+  private final Function<Object, ?> keyExtractor;
+
+  /** {@link Cache} the cache of results. **/
+  private final Cache<Key, Object> cache;
+
+  private CachingPlaceholder(Builder builder) {
+    this.delegate = builder.delegate;
+    this.keyExtractor = builder.keyExtractor;
+    this.cache = builder.cache.recordStats().build();
+  }
+
+  /**
+   * Create a new builder decorating the placeholder passed.
+   *
+   * @param delegate {@link Placeholder} the placeholder to be decorated.
+   * @return {@link Builder}
+   */
+  public static Builder of(Placeholder delegate) {
+    return new Builder(delegate);
+  }
+
+  /** @see Placeholder#parse(Object, DefaultData) **/
+  @Override
+  public Object parse(Object customData, DefaultData defaultData) {
+    return cache.get(this.key(customData, defaultData), $ -> delegate.parse(customData, defaultData));
+  }
+
+  /** @see Placeholder#parseAsync(Object, DefaultData) **/
+  @Override
+  public CompletableFuture<Object> parseAsync(Object customData, DefaultData defaultData) {
+    // check cache
+    final var key = this.key(customData, defaultData);
+    final var cached = cache.getIfPresent(key);
+    if (cached != null)
+      return CompletableFuture.completedFuture(cached);
+
+    // parse and cache
+    return delegate
+      .parseAsync(customData, defaultData)
+      .thenApply(parsed -> {
+        if (parsed != null)
+          cache.put(key, parsed);
+        return parsed;
+      });
+  }
+
+  /** @see Placeholder#tag() **/
+  @Override
+  public String tag() {
+    return delegate.tag();
+  }
+
+  /** @see Placeholder#purity() **/
+  @Override
+  public Purity purity() {
+    return delegate.purity();
+  }
+
+  /** @see Placeholder#lazyParameters() **/
+  @Override
+  public boolean lazyParameters() {
+    return delegate.lazyParameters();
+  }
+
+  /** @see Placeholder#separator() **/
+  @Override
+  public char separator() {
+    return delegate.separator();
+  }
+
+  /** @see Placeholder#type() **/
+  @Override
+  public Class<? extends Placeholder> type() {
+    return delegate.type();
+  }
+
+  /**
+   * Get the decorated placeholder.
+   *
+   * @return {@link Placeholder}
+   */
+  public Placeholder delegate() {
+    return this.delegate;
+  }
+
+  /** @see CacheStatsSource#cacheStats() **/
+  @Override
+  public CacheSnapshot cacheStats() {
+    final var stats = cache.stats();
+    return new CacheSnapshot(stats.hitCount(), stats.missCount(), stats.loadCount(), stats.evictionCount());
+  }
+
+  /**
+   * Invalidate every cached result.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Create the cache key of an invocation.
+   */
+  private Key key(Object customData, DefaultData defaultData) {
+    return new Key(defaultData.origin, keyExtractor == null ? null : keyExtractor.apply(customData));
+  }
+
+  /**
+   * This class represents the cache key of an invocation.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Key {
+    /** {@link String} the origin of the invocation, holding both the tag and parameters. **/
+    private final String origin;
+
+    /** {@link Object} the key extracted from the custom data, if any. **/
+    private final Object customKey;
+
+    private Key(String origin, Object customKey) {
+      this.origin = origin;
+      this.customKey = customKey;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key))
+        return false;
+      final var key = (Key) other;
+      return key.origin.equals(origin) && Objects.equals(key.customKey, customKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * origin.hashCode() + Objects.hashCode(customKey);
+    }
+  }
+}
@@ -1,21 +1,44 @@
 package xyz.oliwer.placeholder;
 
+import xyz.oliwer.placeholder.data.Deadline;
 import xyz.oliwer.placeholder.data.DefaultData;
 import xyz.oliwer.placeholder.def.AddressAlivePlaceholder;
 import xyz.oliwer.placeholder.def.ApiPlaceholder;
 import xyz.oliwer.placeholder.def.RandomPlaceholder;
 import xyz.oliwer.placeholder.def.RangePlaceholder;
 import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.metrics.CacheSnapshot;
+import xyz.oliwer.placeholder.metrics.CacheStatsSource;
+import xyz.oliwer.placeholder.metrics.ResolveListener;
 import xyz.oliwer.placeholder.parser.PatternResolver;
+import xyz.oliwer.placeholder.parser.ScanningResolver;
+import xyz.oliwer.placeholder.template.Template;
+import xyz.oliwer.placeholder.template.TemplateCache;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
 
 /**
  * This interface represents the base of every placeholder.
  *
  * @see PatternResolver
+ * @see ScanningResolver
  * @author Oliwer - https://www.github.com/ImOliwer
  */
 public interface Placeholder {
@@ -38,6 +61,7 @@ public interface Placeholder {
    * This abstract class represents the base of every {@link Placeholder} parser.
    *
    * @see PatternResolver
+   * @see ScanningResolver
    * @param <P> type of {@link Placeholder} wrapper.
    * @author Oliwer - https://www.github.com/ImOliwer
    */
@@ -51,6 +75,21 @@ public interface Placeholder {
     /** {@link Map} map of registered placeholders. **/
     protected final Map<Class<? extends Placeholder>, W> placeholders = new ConcurrentHashMap<>();
 
+    /** {@link Map} the dense ordinal of every registered placeholder type. **/
+    private final Map<Class<? extends Placeholder>, Integer> ordinals = new ConcurrentHashMap<>();
+
+    /** {@link Wrapper} array of registered placeholders by ordinal, copied on every registration. **/
+    private volatile Wrapper[] registered = new Wrapper[0];
+
+    /** {@link TemplateCache} the optional cache of compiled templates, null if disabled. **/
+    protected volatile TemplateCache templateCache;
+
+    /** {@link Executor} the executor of batch resolutions, the common pool by default. **/
+    protected volatile Executor batchExecutor = ForkJoinPool.commonPool();
+
+    /** {@link ResolveListener} the listener of every parse and resolve call, a no-op by default. **/
+    protected volatile ResolveListener listener = ResolveListener.NONE;
+
     /**
      * Primary constructor.
      *
@@ -75,6 +114,115 @@ public interface Placeholder {
      */
     public abstract <P extends Placeholder> Resolver<W> withPlaceholder(P placeholder);
 
+    /**
+     * Register a wrapper under the next ordinal, unless its type is already registered.
+     * Cached templates are invalidated whenever a wrapper is registered.
+     *
+     * @param type {@link Class} the type the placeholder is registered as.
+     * @param wrapper {@link IntFunction} the creation of the wrapper of an ordinal.
+     * @return {@link Wrapper} the registered wrapper, or null if the type is already registered.
+     */
+    protected final synchronized W register(Class<? extends Placeholder> type, IntFunction<W> wrapper) {
+      if (placeholders.containsKey(type))
+        return null;
+
+      // copy the snapshot with the new wrapper as its last ordinal
+      final int ordinal = registered.length;
+      final var created = wrapper.apply(ordinal);
+      final var next = Arrays.copyOf(registered, ordinal + 1);
+      next[ordinal] = created;
+      ordinals.put(type, ordinal);
+      placeholders.put(type, created);
+      this.registered = next;
+      this.invalidateTemplates();
+      return created;
+    }
+
+    /**
+     * Get a snapshot of the registered wrappers by ordinal, in the order of registration.
+     * The array is shared and must not be modified.
+     *
+     * @return {@link Wrapper} array of wrappers.
+     */
+    protected final Wrapper[] registered() {
+      return this.registered;
+    }
+
+    /**
+     * Get the ordinal of a registered placeholder type.
+     *
+     * @param type {@link Class} the type of placeholder.
+     * @return {@link Integer} the ordinal, or -1 if not registered.
+     */
+    public final int ordinal(Class<? extends Placeholder> type) {
+      final var ordinal = ordinals.get(type);
+      return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Select placeholder types of this resolver, ignoring the ones not registered.
+     *
+     * @param types {@link Class} array of placeholder types to be selected.
+     * @return {@link PlaceholderSelection}
+     */
+    @SafeVarargs
+    public final PlaceholderSelection selection(Class<? extends Placeholder>... types) {
+      var words = new long[(registered.length + 63) >>> 6];
+      for (final var type : types)
+        words = this.select(words, type);
+      return this.trimmed(words);
+    }
+
+    /**
+     * Select placeholder types of this resolver, ignoring the ones not registered.
+     *
+     * @param types {@link Collection} the placeholder types to be selected.
+     * @return {@link PlaceholderSelection}
+     */
+    public final PlaceholderSelection selection(Collection<Class<? extends Placeholder>> types) {
+      var words = new long[(registered.length + 63) >>> 6];
+      for (final var type : types)
+        words = this.select(words, type);
+      return this.trimmed(words);
+    }
+
+    /**
+     * Set the bit of a placeholder type in the words of a selection, growing them if needed.
+     */
+    private long[] select(long[] words, Class<? extends Placeholder> type) {
+      final int ordinal = this.ordinal(type);
+      if (ordinal == -1)
+        return words;
+      if ((ordinal >>> 6) >= words.length)
+        words = Arrays.copyOf(words, (ordinal >>> 6) + 1);
+      words[ordinal >>> 6] |= 1L << ordinal;
+      return words;
+    }
+
+    /**
+     * Create the selection of words, trimmed so equal selections share their words.
+     */
+    private PlaceholderSelection trimmed(long[] words) {
+      int length = words.length;
+      while (length > 0 && words[length - 1] == 0)
+        length--;
+      return new PlaceholderSelection(this, Arrays.copyOf(words, length));
+    }
+
+    /**
+     * Ensure a selection was made by this resolver.
+     *
+     * @param selection {@link PlaceholderSelection} the selection to be checked.
+     * @return {@link PlaceholderSelection} the selection passed.
+     */
+    protected final PlaceholderSelection checkSelection(PlaceholderSelection selection) {
+      if (selection == null)
+        throw new NullPointerException("selection must NOT be null");
+      if (selection.resolver != this)
+        throw new IllegalArgumentException("selection must be made by this resolver");
+      return selection;
+    }
+
     /**
      * Register the default placeholders to this resolver.
      *
@@ -89,6 +237,151 @@ public interface Placeholder {
       return this;
     }
 
+    /**
+     * Enable the cache of compiled templates, so a repeated origin passed to
+     * {@link Resolver#resolveAll(String, Object)} renders a precompiled template instead of being re-parsed.
+     * Compiled templates bind every invocation against the origin, hence results of placeholders are never parsed again.
+     * Resolvers re-scanning the results of earlier placeholders reject this, as they would render differently once
+     * cached whenever a placeholder emits placeholder syntax - see {@link Resolver#withTemplateCache(long, boolean)}.
+     *
+     * @param maximumWeight {@link Long} the maximum total length of cached origins.
+     * @return {@link Resolver} current instance.
+     * @throws IllegalStateException if this resolver re-scans results.
+     */
+    public final Resolver<W> withTemplateCache(long maximumWeight) {
+      return this.withTemplateCache(maximumWeight, false);
+    }
+
+    /**
+     * Enable the cache of compiled templates, opting in to templates never parsing results of placeholders again
+     * even though this resolver does without the cache.
+     *
+     * @param maximumWeight {@link Long} the maximum total length of cached origins.
+     * @param bindToOrigin {@link Boolean} whether results are accepted to no longer be re-scanned once cached.
+     * @return {@link Resolver} current instance.
+     * @throws IllegalStateException if this resolver re-scans results and binding to the origin is not accepted.
+     * @see Resolver#rescansResults()
+     */
+    public final Resolver<W> withTemplateCache(long maximumWeight, boolean bindToOrigin) {
+      if (!bindToOrigin && this.rescansResults())
+        throw new IllegalStateException("templates never re-scan results - enable with withTemplateCache(maximumWeight, true)");
+      this.templateCache = new TemplateCache(maximumWeight, this::compile);
+      return this;
+    }
+
+    /**
+     * Get whether this resolver parses the results of earlier placeholders again, unlike compiled templates.
+     *
+     * @return {@link Boolean}
+     */
+    protected boolean rescansResults() {
+      return false;
+    }
+
+    /**
+     * Disable the cache of compiled templates.
+     *
+     * @return {@link Resolver} current instance.
+     */
+    public final Resolver<W> withoutTemplateCache() {
+      this.templateCache = null;
+      return this;
+    }
+
+    /**
+     * Get the cache of compiled templates.
+     *
+     * @return {@link TemplateCache} the cache, or null if disabled.
+     */
+    public final TemplateCache templateCache() {
+      return this.templateCache;
+    }
+
+    /**
+     * Invalidate the cached templates, as they are bound to the placeholders registered at compile time.
+     * Must be called whenever the registered placeholders change.
+     */
+    protected final void invalidateTemplates() {
+      final var cache = this.templateCache;
+      if (cache != null)
+        cache.invalidateAll();
+    }
+
+    /**
+     * Set the listener notified around every placeholder invocation and resolve call.
+     *
+     * @param listener {@link ResolveListener} the listener, or {@link ResolveListener#NONE} to stop measuring.
+     * @return {@link Resolver} current instance.
+     */
+    public final Resolver<W> withListener(ResolveListener listener) {
+      if (listener == null)
+        throw new NullPointerException("listener must NOT be null");
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Get the listener of this resolver.
+     *
+     * @return {@link ResolveListener}
+     */
+    public final ResolveListener listener() {
+      return this.listener;
+    }
+
+    /**
+     * Collect the statistics of every cache of this resolver, passing each to the listener as well.
+     * Placeholders are keyed by tag, the template cache by <b>#templates</b>.
+     *
+     * @return {@link Map} the statistics by name.
+     * @see CacheStatsSource
+     */
+    public final Map<String, CacheSnapshot> cacheStats() {
+      final var stats = new LinkedHashMap<String, CacheSnapshot>();
+      for (final W wrapper : placeholders.values()) {
+        final var parent = wrapper.getParent();
+        if (parent instanceof CacheStatsSource)
+          stats.put(parent.tag(), ((CacheStatsSource) parent).cacheStats());
+      }
+      final var cache = this.templateCache;
+      if (cache != null)
+        stats.put("#templates", cache.stats());
+
+      final var listener = this.listener;
+      stats.forEach(listener::onCacheStats);
+      return stats;
+    }
+
+    /**
+     * Start measuring a resolve call.
+     *
+     * @return {@link Long} the start in nanoseconds, or 0 if not measured.
+     */
+    protected final long resolveStart() {
+      return listener == ResolveListener.NONE ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Finish measuring a resolve call.
+     *
+     * @param start {@link Long} the start returned by {@link Resolver#resolveStart()}.
+     * @param origin {@link CharSequence} the origin resolved.
+     * @param length {@link Integer} the length of the output, -1 if unknown.
+     */
+    protected final void resolveEnd(long start, CharSequence origin, int length) {
+      if (start != 0L)
+        listener.onResolve(System.nanoTime() - start, origin.length(), length);
+    }
+
+    /**
+     * Compile the origin passed into a reusable template.
+     * The origin is parsed once and the returned template only runs the placeholders on render.
+     *
+     * @param origin {@link String} the string to be compiled.
+     * @return {@link Template}
+     */
+    public abstract Template compile(String origin);
+
     /**
      * Resolve the placeholders inside the origin passed.
      *
@@ -106,6 +399,241 @@ public interface Placeholder {
       return this.resolveAll(origin, null);
     }
 
+    /**
+     * Resolve the placeholders inside the origin passed within a latency budget.
+     * The deadline is propagated to every placeholder through {@link Deadline#current()},
+     * placeholders waiting past it returning their fallback instead.
+     *
+     * @param origin {@link String} the string to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @param budget {@link Duration} the latency budget of this resolve operation.
+     * @return {@link String}
+     * @see Resolver#resolveAll(String, Object)
+     */
+    public final String resolveAll(String origin, Object customData, Duration budget) {
+      return Deadline.after(budget).run(() -> this.resolveAll(origin, customData));
+    }
+
+    /**
+     * Resolve the placeholders inside the origin passed within a latency budget, writing the result into an appendable.
+     *
+     * @param origin {@link CharSequence} the sequence to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @param out {@link Appendable} the appendable to write the result into.
+     * @param budget {@link Duration} the latency budget of this resolve operation.
+     * @return {@link Appendable} the appendable passed.
+     * @see Resolver#resolveAll(String, Object, Duration)
+     */
+    public final <A extends Appendable> A resolveAllInto(CharSequence origin, Object customData, A out, Duration budget) {
+      return Deadline.after(budget).run(() -> this.resolveAllInto(origin, customData, out));
+    }
+
+    /**
+     * Resolve the placeholders inside the origin passed asynchronously.
+     * Every invocation is launched at once through {@link Placeholder#parseAsync(Object, DefaultData)},
+     * so I/O bound placeholders run concurrently and the result is assembled once all have completed.
+     * <p>
+     * Resolvers re-scanning results resolve the origin as {@link Resolver#resolveAll(String, Object)} does instead,
+     * on the batch executor, unless their template cache is enabled - see {@link Resolver#rescansResults()}.
+     *
+     * @param origin {@link String} the string to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @return {@link CompletableFuture} the future of the resolved string.
+     */
+    public CompletableFuture<String> resolveAllAsync(String origin, Object customData) {
+      final var cache = this.templateCache;
+
+      // a template would not re-scan results, so handle one placeholder after another under the current deadline
+      if (cache == null && this.rescansResults()) {
+        final var deadline = Deadline.current();
+        return CompletableFuture.supplyAsync(() -> deadline.run(() -> this.resolveAll(origin, customData)), batchExecutor);
+      }
+
+      final long start = this.resolveStart();
+      final var template = cache == null ? this.compile(origin) : cache.get(origin);
+      final var rendered = template.renderAsync(customData, listener);
+      if (start == 0L)
+        return rendered;
+      return rendered.whenComplete((resolved, error) -> this.resolveEnd(start, origin, resolved == null ? -1 : resolved.length()));
+    }
+
+    /**
+     * @param origin {@link String} the string to be processed and resolved.
+     * @see Resolver#resolveAllAsync(String, Object)
+     * @return {@link CompletableFuture} the future of the resolved string.
+     */
+    public final CompletableFuture<String> resolveAllAsync(String origin) {
+      return this.resolveAllAsync(origin, null);
+    }
+
+    /**
+     * Resolve the placeholders inside the origin passed asynchronously within a latency budget.
+     * Every invocation is launched with the deadline current, so I/O bound placeholders complete
+     * with their fallback once it has passed.
+     *
+     * @param origin {@link String} the string to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @param budget {@link Duration} the latency budget of this resolve operation.
+     * @return {@link CompletableFuture} the future of the resolved string.
+     * @see Resolver#resolveAll(String, Object, Duration)
+     */
+    public final CompletableFuture<String> resolveAllAsync(String origin, Object customData, Duration budget) {
+      return Deadline.after(budget).run(() -> this.resolveAllAsync(origin, customData));
+    }
+
+    /**
+     * Set the executor of batch resolutions.
+     * A {@link ForkJoinPool} splits the batch recursively, any other executor runs it in even chunks.
+     *
+     * @param executor {@link Executor} the executor of batch resolutions.
+     * @return {@link Resolver} current instance.
+     */
+    public final Resolver<W> withBatchExecutor(Executor executor) {
+      if (executor == null)
+        throw new NullPointerException("executor must NOT be null");
+      this.batchExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Resolve the placeholders of many origins in parallel, sharing one custom data.
+     *
+     * @param origins {@link List} the strings to be processed and resolved.
+     * @param customData {@link Object} the custom data for every resolve operation.
+     * @param deduplicate {@link Boolean} whether identical origins are resolved only once, sharing their result.
+     * @return {@link List} the resolved strings, in the order of the origins.
+     * @see Resolver#resolveAll(String, Object)
+     */
+    public List<String> resolveAllBatch(List<String> origins, Object customData, boolean deduplicate) {
+      // resolve every origin as is
+      if (!deduplicate)
+        return Collections.unmodifiableList(Arrays.asList(this.batch(origins.size(), index -> resolveAll(origins.get(index), customData))));
+
+      // resolve every distinct origin once
+      final var size = origins.size();
+      final var slots = new int[size];
+      final var distinct = new HashMap<String, Integer>();
+      final var unique = new String[size];
+      for (int index = 0; index < size; index++) {
+        final var origin = origins.get(index);
+        final var slot = distinct.putIfAbsent(origin, distinct.size());
+        if (slot == null)
+          unique[distinct.size() - 1] = origin;
+        slots[index] = slot == null ? distinct.size() - 1 : slot;
+      }
+      final var resolved = this.batch(distinct.size(), index -> resolveAll(unique[index], customData));
+
+      // map back in order
+      final var results = new String[size];
+      for (int index = 0; index < size; index++)
+        results[index] = resolved[slots[index]];
+      return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * @param origins {@link List} the strings to be processed and resolved.
+     * @param customData {@link Object} the custom data for every resolve operation.
+     * @see Resolver#resolveAllBatch(List, Object, boolean)
+     * @return {@link List} the resolved strings, in the order of the origins.
+     */
+    public final List<String> resolveAllBatch(List<String> origins, Object customData) {
+      return this.resolveAllBatch(origins, customData, false);
+    }
+
+    /**
+     * Resolve the placeholders of many origins in parallel, each with its own custom data.
+     *
+     * @param origins {@link List} the strings to be processed and resolved.
+     * @param customData {@link List} the custom data of each origin, by index.
+     * @return {@link List} the resolved strings, in the order of the origins.
+     * @see Resolver#resolveAll(String, Object)
+     */
+    public List<String> resolveAllBatchEach(List<String> origins, List<?> customData) {
+      if (origins.size() != customData.size())
+        throw new IllegalArgumentException("origins and custom data must be of the same size");
+      return Collections.unmodifiableList(Arrays.asList(this.batch(origins.size(), index -> resolveAll(origins.get(index), customData.get(index)))));
+    }
+
+    /**
+     * Run a batch of resolutions over the batch executor.
+     *
+     * @param size {@link Integer} the size of the batch.
+     * @param resolve {@link IntFunction} the resolution of an index.
+     * @return {@link String} array of results by index.
+     */
+    private String[] batch(int size, IntFunction<String> resolve) {
+      final var results = new String[size];
+      final var executor = this.batchExecutor;
+
+      // split recursively over a fork join pool
+      if (executor instanceof ForkJoinPool) {
+        final var pool = (ForkJoinPool) executor;
+        final var threshold = Math.max(1, size / (pool.getParallelism() * 4));
+        pool.invoke(new BatchTask(results, resolve, 0, size, threshold));
+        return results;
+      }
+
+      // run in even chunks over any other executor
+      final var chunks = Math.min(size, Runtime.getRuntime().availableProcessors() * 4);
+      final var futures = new CompletableFuture<?>[chunks];
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        final int from = (int) ((long) size * chunk / chunks);
+        final int to = (int) ((long) size * (chunk + 1) / chunks);
+        futures[chunk] = CompletableFuture.runAsync(() -> {
+          for (int index = from; index < to; index++)
+            results[index] = resolve.apply(index);
+        }, executor);
+      }
+      try {
+        CompletableFuture.allOf(futures).join();
+      } catch (CompletionException exception) {
+        if (exception.getCause() instanceof RuntimeException)
+          throw (RuntimeException) exception.getCause();
+        throw exception;
+      }
+      return results;
+    }
+
+    /**
+     * This class represents the fork join task of a batch resolution.
+     *
+     * @author Oliwer - https://www.github.com/ImOliwer
+     */
+    private static final class BatchTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      private final String[] results;
+      private final IntFunction<String> resolve;
+      private final int from;
+      private final int to;
+      private final int threshold;
+
+      private BatchTask(String[] results, IntFunction<String> resolve, int from, int to, int threshold) {
+        this.results = results;
+        this.resolve = resolve;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+      }
+
+      @Override
+      protected void compute() {
+        // small enough - resolve in place
+        if (to - from <= threshold) {
+          for (int index = from; index < to; index++)
+            results[index] = resolve.apply(index);
+          return;
+        }
+
+        // split in halves
+        final int middle = (from + to) >>> 1;
+        invokeAll(
+          new BatchTask(results, resolve, from, middle, threshold),
+          new BatchTask(results, resolve, middle, to, threshold)
+        );
+      }
+    }
+
     /**
      * Resolve all placeholders without a set of specific ones.
      *
@@ -114,7 +642,19 @@ public interface Placeholder {
      * @param without {@link Set} a collection of classes to ignore.
      * @return {@link String}
      */
-    public abstract String resolveAllWithout(String origin, Object customData, Set<Class<? extends Placeholder>> without);
+    public String resolveAllWithout(String origin, Object customData, Set<Class<? extends Placeholder>> without) {
+      return this.resolveAllWithout(origin, customData, this.selection(without));
+    }
+
+    /**
+     * Resolve all placeholders without a selection of specific ones.
+     *
+     * @param origin {@link String} the string to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @param without {@link PlaceholderSelection} the selection of placeholders to ignore.
+     * @return {@link String}
+     */
+    public abstract String resolveAllWithout(String origin, Object customData, PlaceholderSelection without);
 
     /**
      * @param origin {@link String} the string to be processed and resolved.
@@ -134,7 +674,22 @@ public interface Placeholder {
      * @param types {@link Class} array of placeholder types to be processed.
      * @return {@link String}
      */
-    public abstract String resolve(String origin, Object customData, Set<Class<? extends Placeholder>> types);
+    public String resolve(String origin, Object customData, Set<Class<? extends Placeholder>> types) {
+      // ensure the presence
+      if (types == null || origin == null)
+        throw new NullPointerException("types and origin must NOT be null");
+      return this.resolve(origin, customData, this.selection(types));
+    }
+
+    /**
+     * Resolve a selection of placeholders in a string origin.
+     *
+     * @param origin {@link String} the origin to be processed of selected placeholders.
+     * @param customData {@link Object} custom data passed through to the placeholders.
+     * @param selection {@link PlaceholderSelection} the selection of placeholders to be processed.
+     * @return {@link String}
+     */
+    public abstract String resolve(String origin, Object customData, PlaceholderSelection selection);
 
     /**
      * @param origin {@link String} the origin to be processed of passed placeholder.
@@ -165,6 +720,80 @@ public interface Placeholder {
     public final String resolveSingle(String origin, Class<? extends Placeholder> type) {
       return this.resolveSingle(origin, null, type);
     }
+
+    /**
+     * Resolve the placeholders inside the origin passed, writing the result into an appendable.
+     *
+     * @param origin {@link CharSequence} the sequence to be processed and resolved.
+     * @param customData {@link Object} the custom data for this resolve operation.
+     * @param out {@link Appendable} the appendable to write the result into.
+     * @return {@link Appendable} the appendable passed.
+     * @see Resolver#resolveAll(String, Object)
+     */
+    public <A extends Appendable> A resolveAllInto(CharSequence origin, Object customData, A out) {
+      return append(out, this.resolveAll(origin.toString(), customData));
+    }
+
+    /**
+     * Resolve an array of placeholders of passed classes, writing the result into an appendable.
+     *
+     * @param origin {@link CharSequence} the origin to be processed of passed placeholders.
+     * @param customData {@link Object} custom data passed through to the placeholders.
+     * @param types {@link Class} array of placeholder types to be processed.
+     * @param out {@link Appendable} the appendable to write the result into.
+     * @return {@link Appendable} the appendable passed.
+     * @see Resolver#resolve(String, Object, Set)
+     */
+    public <A extends Appendable> A resolveInto(CharSequence origin, Object customData, Set<Class<? extends Placeholder>> types, A out) {
+      // ensure the presence
+      if (types == null || origin == null)
+        throw new NullPointerException("types and origin must NOT be null");
+      return this.resolveInto(origin, customData, this.selection(types), out);
+    }
+
+    /**
+     * Resolve a selection of placeholders, writing the result into an appendable.
+     *
+     * @param origin {@link CharSequence} the origin to be processed of selected placeholders.
+     * @param customData {@link Object} custom data passed through to the placeholders.
+     * @param selection {@link PlaceholderSelection} the selection of placeholders to be processed.
+     * @param out {@link Appendable} the appendable to write the result into.
+     * @return {@link Appendable} the appendable passed.
+     * @see Resolver#resolve(String, Object, PlaceholderSelection)
+     */
+    public <A extends Appendable> A resolveInto(CharSequence origin, Object customData, PlaceholderSelection selection, A out) {
+      return append(out, this.resolve(origin.toString(), customData, selection));
+    }
+
+    /**
+     * Resolve a single type of placeholder by passed class, writing the result into an appendable.
+     *
+     * @param origin {@link CharSequence} the origin to be processed.
+     * @param customData {@link Object} custom data passed through to the placeholder.
+     * @param type {@link Class} the type of placeholder to process matches in origin.
+     * @param out {@link Appendable} the appendable to write the result into.
+     * @return {@link Appendable} the appendable passed.
+     * @see Resolver#resolveSingle(String, Object, Class)
+     */
+    public <A extends Appendable> A resolveSingleInto(CharSequence origin, Object customData, Class<? extends Placeholder> type, A out) {
+      return append(out, this.resolveSingle(origin.toString(), customData, type));
+    }
+
+    /**
+     * Append a sequence to an appendable, rethrowing its failure unchecked.
+     *
+     * @param out {@link Appendable} the appendable to write into.
+     * @param sequence {@link CharSequence} the sequence to be written.
+     * @return {@link Appendable} the appendable passed.
+     */
+    protected static <A extends Appendable> A append(A out, CharSequence sequence) {
+      try {
+        out.append(sequence);
+        return out;
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }
   }
 
   /**
@@ -176,6 +805,60 @@ public interface Placeholder {
    */
   Object parse(Object customData, DefaultData defaultData);
 
+  /**
+   * Parse this action and write the result straight into an appendable.
+   * Placeholders producing primitives may override this to skip boxing and intermediate strings.
+   *
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data from the resolver.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  default void parseInto(Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    final var parsed = parse(customData, defaultData);
+    if (parsed instanceof CharSequence)
+      out.append((CharSequence) parsed);
+    else
+      out.append(parsed.toString());
+  }
+
+  /**
+   * Parse this action asynchronously.
+   * By default, {@link Placeholder#parse(Object, DefaultData)} is run on the calling thread,
+   * I/O bound placeholders should override this to avoid blocking.
+   *
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data from the resolver.
+   * @return {@link CompletableFuture} the future of the parsed action.
+   */
+  default CompletableFuture<Object> parseAsync(Object customData, DefaultData defaultData) {
+    try {
+      return CompletableFuture.completedFuture(parse(customData, defaultData));
+    } catch (RuntimeException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+
+  /**
+   * Get how deterministic this action is, letting compiled templates fold or reuse its results.
+   * Placeholders are volatile unless declared otherwise - a pure placeholder must not depend on the custom data.
+   *
+   * @return {@link Purity}
+   */
+  default Purity purity() {
+    return Purity.VOLATILE;
+  }
+
+  /**
+   * Get whether this action reads its parameters through the lazy accessors of {@link DefaultData} only,
+   * sparing resolvers from splitting them up front. {@link DefaultData#parameters} is then null.
+   *
+   * @return {@link Boolean}
+   */
+  default boolean lazyParameters() {
+    return false;
+  }
+
   /**
    * Get the tag of this action.
    *
@@ -183,6 +866,16 @@ public interface Placeholder {
    */
   String tag();
 
+  /**
+   * Get the type this action is registered as in a {@link Resolver}.
+   * Decorators return the type of the placeholder they wrap.
+   *
+   * @return {@link Class}
+   */
+  default Class<? extends Placeholder> type() {
+    return getClass();
+  }
+
   /**
    * Get the separator for this action.
    *
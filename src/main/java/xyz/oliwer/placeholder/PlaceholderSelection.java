@@ -0,0 +1,62 @@
+package xyz.oliwer.placeholder;
+
+import java.util.Arrays;
+
+import static xyz.oliwer.placeholder.Placeholder.Resolver;
+
+/**
+ * This class represents an immutable selection of placeholders registered to a {@link Resolver}, backed by a bitset of their ordinals.
+ * A selection is made once through {@link Resolver#selection(Class[])} and may be reused by every call,
+ * so filtering a placeholder is a single bit test rather than a hash probe.
+ * Placeholders registered after the selection was made are never part of it.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class PlaceholderSelection {
+  /** {@link Resolver} the resolver whose ordinals this selection refers to. **/
+  final Resolver<?> resolver;
+
+  /** {@link Long} array of words of the bitset of ordinals. **/
+  private final long[] words;
+
+  PlaceholderSelection(Resolver<?> resolver, long[] words) {
+    this.resolver = resolver;
+    this.words = words;
+  }
+
+  /**
+   * Check whether the placeholder of an ordinal is selected.
+   *
+   * @param ordinal {@link Integer} the ordinal of the placeholder.
+   * @return {@link Boolean}
+   */
+  public boolean contains(int ordinal) {
+    final int word = ordinal >>> 6;
+    return word < words.length && (words[word] & (1L << ordinal)) != 0;
+  }
+
+  /**
+   * Get the amount of selected placeholders.
+   *
+   * @return {@link Integer}
+   */
+  public int size() {
+    int size = 0;
+    for (final long word : words)
+      size += Long.bitCount(word);
+    return size;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof PlaceholderSelection))
+      return false;
+    final var selection = (PlaceholderSelection) other;
+    return selection.resolver == resolver && Arrays.equals(selection.words, words);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(words);
+  }
+}
@@ -0,0 +1,73 @@
+package xyz.oliwer.placeholder;
+
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.template.Template;
+
+import java.time.Duration;
+
+/**
+ * This class represents how deterministic a {@link Placeholder} is, as declared through {@link Placeholder#purity()}.
+ * Compiled {@link Template}s rely on it to fold pure invocations into literal text once,
+ * and to re-run only the volatile ones on render.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Purity {
+  /**
+   * This enum represents the kinds of {@link Purity}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public enum Kind {
+    /** The result depends on the tag and parameters only - it is parsed once, at compile time. **/
+    PURE,
+
+    /** The result is stable within one render - identical invocations of a render are parsed once. **/
+    PER_RENDER,
+
+    /** The result depends on the tag and parameters only, for a limited time - it is re-parsed once stale. **/
+    TIME_BOUNDED,
+
+    /** The result may differ on every invocation - it is parsed on every render. **/
+    VOLATILE
+  }
+
+  /** {@link Purity} results depending on the tag and parameters only. **/
+  public static final Purity PURE = new Purity(Kind.PURE, 0L);
+
+  /** {@link Purity} results stable within one render. **/
+  public static final Purity PER_RENDER = new Purity(Kind.PER_RENDER, 0L);
+
+  /** {@link Purity} results differing on every invocation, the default of every placeholder. **/
+  public static final Purity VOLATILE = new Purity(Kind.VOLATILE, 0L);
+
+  /** {@link Kind} the kind of this purity. **/
+  public final Kind kind;
+
+  /** {@link Long} how long a result stays valid in nanoseconds, if time bounded. **/
+  public final long ttlNanos;
+
+  private Purity(Kind kind, long ttlNanos) {
+    this.kind = kind;
+    this.ttlNanos = ttlNanos;
+  }
+
+  /**
+   * Create the purity of results depending on the tag and parameters only, for a limited time.
+   * Such placeholders must not depend on the custom data either, as one result is shared by every render.
+   *
+   * @param ttl {@link Duration} how long a result stays valid.
+   * @return {@link Purity}
+   * @see Placeholder#parse(Object, DefaultData)
+   */
+  public static Purity timeBounded(Duration ttl) {
+    if (ttl == null || ttl.isNegative() || ttl.isZero())
+      throw new IllegalArgumentException("ttl must be positive");
+    return new Purity(Kind.TIME_BOUNDED, ttl.toNanos());
+  }
+
+  @Override
+  public String toString() {
+    return kind == Kind.TIME_BOUNDED ? kind + "(" + Duration.ofNanos(ttlNanos) + ")" : kind.toString();
+  }
+}
@@ -0,0 +1,125 @@
+package xyz.oliwer.placeholder.data;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * This class represents the latency budget of a resolve call, propagated to its placeholders as the current deadline.
+ * Placeholders waiting on I/O read {@link Deadline#current()} when invoked and return their fallback once it has passed,
+ * so a degraded dependency never holds a render for longer than its budget.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Deadline {
+  /** {@link Deadline} the absence of a deadline. **/
+  public static final Deadline NONE = new Deadline(0L, false);
+
+  /** {@link ThreadLocal} the deadline of the resolve call running on each thread. **/
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  /** {@link Long} the {@link System#nanoTime()} at which this deadline passes. **/
+  private final long at;
+
+  /** {@link Boolean} whether this deadline is set at all. **/
+  private final boolean bounded;
+
+  private Deadline(long at, boolean bounded) {
+    this.at = at;
+    this.bounded = bounded;
+  }
+
+  /**
+   * Create the deadline of a budget starting now.
+   *
+   * @param budget {@link Duration} the latency budget.
+   * @return {@link Deadline}
+   */
+  public static Deadline after(Duration budget) {
+    if (budget == null)
+      throw new NullPointerException("budget must NOT be null");
+    return new Deadline(System.nanoTime() + budget.toNanos(), true);
+  }
+
+  /**
+   * Get the deadline of the resolve call running on the current thread.
+   *
+   * @return {@link Deadline} the deadline, or {@link Deadline#NONE} if there is none.
+   */
+  public static Deadline current() {
+    final var current = CURRENT.get();
+    return current == null ? NONE : current;
+  }
+
+  /**
+   * Check whether this deadline is set at all.
+   *
+   * @return {@link Boolean}
+   */
+  public boolean isBounded() {
+    return this.bounded;
+  }
+
+  /**
+   * Get the remaining budget in nanoseconds.
+   *
+   * @return {@link Long} the remaining budget, 0 if passed, or {@link Long#MAX_VALUE} if unbounded.
+   */
+  public long remainingNanos() {
+    if (!bounded)
+      return Long.MAX_VALUE;
+    return Math.max(0L, at - System.nanoTime());
+  }
+
+  /**
+   * Check whether this deadline has passed.
+   *
+   * @return {@link Boolean}
+   */
+  public boolean isExpired() {
+    return bounded && at - System.nanoTime() <= 0L;
+  }
+
+  /**
+   * Run an action with this deadline as the current one, unless the current deadline is sooner.
+   *
+   * @param action {@link Supplier} the action to be run.
+   * @return {@link Object} the result of the action.
+   */
+  public <T> T run(Supplier<T> action) {
+    final var previous = CURRENT.get();
+    final var effective = previous != null && previous.bounded && (!bounded || previous.at - at < 0L) ? previous : this;
+    CURRENT.set(effective);
+    try {
+      return action.get();
+    } finally {
+      if (previous == null)
+        CURRENT.remove();
+      else
+        CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Bound a future by this deadline, completing the returned copy with a fallback once passed.
+   * The future passed is left untouched, so shared futures are never completed early.
+   *
+   * @param future {@link CompletableFuture} the future to be bound.
+   * @param fallback {@link Object} the value completed with once this deadline has passed.
+   * @return {@link CompletableFuture} the bound copy, or the future passed if unbounded.
+   */
+  public <T> CompletableFuture<T> bound(CompletableFuture<T> future, T fallback) {
+    if (!bounded)
+      return future;
+    return future
+      .copy()
+      .completeOnTimeout(fallback, this.remainingNanos(), NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return bounded ? "Deadline(" + Duration.ofNanos(this.remainingNanos()) + " remaining)" : "Deadline(none)";
+  }
+}
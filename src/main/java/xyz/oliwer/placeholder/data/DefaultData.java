@@ -1,7 +1,11 @@
 package xyz.oliwer.placeholder.data;
 
+import java.nio.CharBuffer;
+
 /**
  * This class represents the default data population from parsers.
+ * Parameters can be read lazily from their range of the origin, so placeholders reading
+ * only a few of them (or none at all) never split the whole argument list.
  *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
@@ -9,7 +13,10 @@ public final class DefaultData {
   /** {@link String} the origin of operation. **/
   public final String origin;
 
-  /** {@link String} array of parameters of operation. **/
+  /**
+   * {@link String} array of parameters of operation, split up front.
+   * Null for placeholders reading their parameters lazily - see {@link DefaultData#parameters()}.
+   */
   public final String[] parameters;
 
   /** {@link Character} the start delimiter of parser. **/
@@ -18,6 +25,24 @@ public final class DefaultData {
   /** {@link Character} the end delimiter of parser. **/
   public final char endDelimiter;
 
+  /** {@link Character} the separator of parameters. **/
+  private final char separator;
+
+  /** {@link Integer} the start index of the parameters in the origin (inclusive). **/
+  private final int from;
+
+  /** {@link Integer} the end index of the parameters in the origin (exclusive). **/
+  private final int to;
+
+  /** {@link Boolean} whether the parameters are read from a range of the origin. **/
+  private final boolean ranged;
+
+  /** {@link Integer} array of the start index of every parameter, followed by the end of the last one plus one. **/
+  private volatile int[] offsets;
+
+  /** {@link String} array of parameters of operation, materialized on demand. **/
+  private volatile String[] materialized;
+
   /**
    * Primary constructor.
    *
@@ -34,7 +59,221 @@ public final class DefaultData {
   ) {
     this.origin = origin;
     this.parameters = params;
+    this.materialized = params;
     this.startDelimiter = startDelimiter;
     this.endDelimiter = endDelimiter;
+    this.separator = 0;
+    this.from = 0;
+    this.to = 0;
+    this.ranged = false;
+  }
+
+  /**
+   * Lazy constructor, reading the parameters from a range of the origin on demand.
+   *
+   * @see DefaultData#DefaultData(String, int, int, char, char, char, boolean)
+   */
+  public DefaultData(
+    String origin,
+    int from,
+    int to,
+    char separator,
+    char startDelimiter,
+    char endDelimiter
+  ) {
+    this(origin, from, to, separator, startDelimiter, endDelimiter, false);
+  }
+
+  /**
+   * Range constructor, reading the parameters from a range of the origin.
+   * Parameters follow {@link String#split(String)} semantics, hence trailing empty parameters are dropped.
+   *
+   * @param origin {@link String} the origin being resolved.
+   * @param from {@link Integer} the start index of the parameters in the origin (inclusive).
+   * @param to {@link Integer} the end index of the parameters in the origin (exclusive).
+   * @param separator {@link Character} the separator of parameters.
+   * @param startDelimiter {@link Character} the start delimiter of our correspondent parser.
+   * @param endDelimiter {@link Character} the end delimiter of our correspondent parser.
+   * @param eager {@link Boolean} whether the parameters are split up front into {@link DefaultData#parameters}.
+   */
+  public DefaultData(
+    String origin,
+    int from,
+    int to,
+    char separator,
+    char startDelimiter,
+    char endDelimiter,
+    boolean eager
+  ) {
+    if (from < 0 || to < from || to > origin.length())
+      throw new IndexOutOfBoundsException("parameter range out of the origin");
+    this.origin = origin;
+    this.from = from;
+    this.to = to;
+    this.ranged = true;
+    this.separator = separator;
+    this.startDelimiter = startDelimiter;
+    this.endDelimiter = endDelimiter;
+    this.parameters = eager ? this.parameters() : null;
+  }
+
+  /**
+   * Get the amount of parameters.
+   *
+   * @return {@link Integer}
+   */
+  public int parameterCount() {
+    final var parameters = this.materialized;
+    if (parameters != null)
+      return parameters.length;
+    return this.offsets().length - 1;
+  }
+
+  /**
+   * Get a parameter as a view over the origin, without copying it.
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @return {@link CharSequence}
+   */
+  public CharSequence parameter(int index) {
+    final var parameters = this.materialized;
+    if (parameters != null)
+      return parameters[index];
+
+    final var offsets = this.offsets(index);
+    return CharBuffer.wrap(origin, offsets[index], offsets[index + 1] - 1);
+  }
+
+  /**
+   * Get the start index of a parameter in the origin (inclusive).
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @return {@link Integer} the start index, or -1 if the parameters were not read from the origin.
+   */
+  public int parameterStart(int index) {
+    if (!ranged)
+      return -1;
+    return this.offsets(index)[index];
+  }
+
+  /**
+   * Get the end index of a parameter in the origin (exclusive).
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @return {@link Integer} the end index, or -1 if the parameters were not read from the origin.
+   */
+  public int parameterEnd(int index) {
+    if (!ranged)
+      return -1;
+    return this.offsets(index)[index + 1] - 1;
+  }
+
+  /**
+   * Check whether a parameter equals the text passed, without copying it.
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @param text {@link String} the text to compare to.
+   * @return {@link Boolean}
+   */
+  public boolean parameterEquals(int index, String text) {
+    final var parameters = this.materialized;
+    if (parameters != null)
+      return parameters[index].equals(text);
+
+    final var offsets = this.offsets(index);
+    final int start = offsets[index];
+    final int length = offsets[index + 1] - 1 - start;
+    return length == text.length() && origin.regionMatches(start, text, 0, length);
+  }
+
+  /**
+   * Parse a parameter as a signed decimal {@link Long}, without copying it.
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @return {@link Long}
+   * @throws NumberFormatException if the parameter is no valid long.
+   */
+  public long parseLongParameter(int index) {
+    final var parameters = this.materialized;
+    if (parameters != null)
+      return Long.parseLong(parameters[index]);
+
+    final var offsets = this.offsets(index);
+    return Long.parseLong(origin, offsets[index], offsets[index + 1] - 1, 10);
+  }
+
+  /**
+   * Parse a parameter as a {@link Double}.
+   *
+   * @param index {@link Integer} the index of the parameter.
+   * @return {@link Double}
+   * @throws NumberFormatException if the parameter is no valid double.
+   */
+  public double parseDoubleParameter(int index) {
+    return Double.parseDouble(this.parameter(index).toString());
+  }
+
+  /**
+   * Get every parameter, materialized on first call unless split up front.
+   * The array is shared and must not be modified.
+   *
+   * @return {@link String} array of parameters.
+   */
+  public String[] parameters() {
+    var parameters = this.materialized;
+    if (parameters != null)
+      return parameters;
+
+    final var offsets = this.offsets();
+    parameters = new String[offsets.length - 1];
+    for (int index = 0; index < parameters.length; index++)
+      parameters[index] = origin.substring(offsets[index], offsets[index + 1] - 1);
+    return this.materialized = parameters;
+  }
+
+  /**
+   * Get the offsets of the parameters, ensuring the index passed is in bounds.
+   */
+  private int[] offsets(int index) {
+    final var offsets = this.offsets();
+    if (index < 0 || index >= offsets.length - 1)
+      throw new IndexOutOfBoundsException(index);
+    return offsets;
+  }
+
+  /**
+   * Get the offsets of the parameters, finding them on first call.
+   */
+  private int[] offsets() {
+    var offsets = this.offsets;
+    if (offsets != null)
+      return offsets;
+
+    // an empty range is a single empty parameter
+    if (from == to)
+      return this.offsets = new int[] { from, to + 1 };
+
+    // ignore trailing empty parameters
+    int end = to;
+    while (end > from && origin.charAt(end - 1) == separator)
+      end--;
+    if (end == from)
+      return this.offsets = new int[] { from };
+
+    // count
+    int count = 1;
+    for (int index = from; index < end; index++)
+      if (origin.charAt(index) == separator)
+        count++;
+
+    // find the start of every parameter
+    offsets = new int[count + 1];
+    offsets[0] = from;
+    int next = 1;
+    for (int index = from; index < end; index++)
+      if (origin.charAt(index) == separator)
+        offsets[next++] = index + 1;
+    offsets[count] = end + 1;
+    return this.offsets = offsets;
   }
-}
\ No newline at end of file
+}
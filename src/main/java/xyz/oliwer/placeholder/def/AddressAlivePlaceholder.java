@@ -1,40 +1,275 @@
 package xyz.oliwer.placeholder.def;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.data.Deadline;
 import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.metrics.CacheSnapshot;
+import xyz.oliwer.placeholder.metrics.CacheStatsSource;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static java.lang.Integer.parseInt;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
+ * This class represents the "address alive" implementation of {@link Placeholder}.
+ * Addresses are probed with non-blocking connects multiplexed over a single selector,
+ * and their liveness is cached per address for a configurable time.
+ *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
-public final class AddressAlivePlaceholder implements Placeholder {
+public final class AddressAlivePlaceholder implements Placeholder, CacheStatsSource {
   /**
+   * This class represents the builder of {@link AddressAlivePlaceholder}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Builder {
+    private Duration connectTimeout = ofMillis(500);
+    private Duration cacheTtl = ofSeconds(5);
+    private Duration reprobeInterval;
+    private Duration idleTimeout = ofMinutes(1);
+    private long maximumSize = 1_500;
+    private CircuitBreaker circuitBreaker;
+
+    private Builder() {}
+
+    /**
+     * Set the connect timeout of a probe.
+     *
+     * @param connectTimeout {@link Duration} the connect timeout.
+     * @return {@link Builder} current instance.
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Set how long the liveness of an address is cached for.
+     *
+     * @param cacheTtl {@link Duration} the lifetime of a probe result.
+     * @return {@link Builder} current instance.
+     */
+    public Builder cacheTtl(Duration cacheTtl) {
+      this.cacheTtl = cacheTtl;
+      return this;
+    }
+
+    /**
+     * Re-probe every cached address in the background, so renders read cached liveness instantly.
+     * Addresses not rendered within the idle timeout stop being re-probed.
+     *
+     * @param reprobeInterval {@link Duration} the interval between re-probes.
+     * @param idleTimeout {@link Duration} how long an address is kept without being rendered.
+     * @return {@link Builder} current instance.
+     */
+    public Builder reprobeEvery(Duration reprobeInterval, Duration idleTimeout) {
+      this.reprobeInterval = reprobeInterval;
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Set the maximum amount of cached addresses.
+     *
+     * @param maximumSize {@link Long} the maximum amount of addresses.
+     * @return {@link Builder} current instance.
+     */
+    public Builder maximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Probe through a circuit breaker keyed by address, an unreachable address counting as a failure.
+     * Addresses whose circuit is open render the false value without being probed.
+     *
+     * @param circuitBreaker {@link CircuitBreaker} the breaker, possibly shared, or null to disable it.
+     * @return {@link Builder} current instance.
+     */
+    public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+      this.circuitBreaker = circuitBreaker;
+      return this;
+    }
+
+    /**
+     * Build the placeholder.
+     *
+     * @return {@link AddressAlivePlaceholder}
+     */
+    public AddressAlivePlaceholder build() {
+      return new AddressAlivePlaceholder(this);
+    }
+  }
+
+  /** {@link Long} the connect timeout of a probe in nanoseconds. **/
+  private final long connectTimeout;
+
+  /** {@link AsyncLoadingCache} the liveness of every address probed. **/
+  private final AsyncLoadingCache<Address, Boolean> cache;
+
+  /** {@link ScheduledExecutorService} the scheduler of background re-probes, null if disabled. **/
+  private final ScheduledExecutorService reprober;
+
+  /** {@link AddressProber} the prober, created on the first probe. **/
+  private volatile AddressProber prober;
+
+  /**
+   * Primary constructor, probing with a 500ms timeout and caching liveness for 5 seconds.
+   */
+  public AddressAlivePlaceholder() {
+    this(new Builder());
+  }
+
+  /**
+   * Builder constructor.
+   */
+  private AddressAlivePlaceholder(Builder builder) {
+    this.connectTimeout = builder.connectTimeout.toNanos();
+
+    // create the cache
+    final var cacheBuilder = Caffeine
+      .newBuilder()
+      .expireAfterWrite(builder.cacheTtl)
+      .maximumSize(builder.maximumSize)
+      .recordStats();
+    if (builder.reprobeInterval != null)
+      cacheBuilder.expireAfterAccess(builder.idleTimeout);
+    final var circuitBreaker = builder.circuitBreaker;
+    this.cache = cacheBuilder.buildAsync((address, executor) -> {
+      if (circuitBreaker == null)
+        return this.probe(address, executor);
+      return circuitBreaker.call(address, () -> this.probe(address, executor), alive -> !alive);
+    });
+
+    // schedule the re-probes
+    if (builder.reprobeInterval == null) {
+      this.reprober = null;
+      return;
+    }
+    this.reprober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final var thread = new Thread(runnable, "address-alive-reprober");
+      thread.setDaemon(true);
+      return thread;
+    });
+    final long interval = builder.reprobeInterval.toNanos();
+    this.reprober.scheduleWithFixedDelay(this::reprobe, interval, interval, NANOSECONDS);
+  }
+
+  /**
+   * Create a new builder of this placeholder.
+   *
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Wait for the probe no longer than the current deadline, if any, an unknown liveness rendering the false value.
+   *
    * @see Placeholder#parse(Object, DefaultData)
    */
   @Override
   public Object parse(Object customData, DefaultData defaultData) {
     // ensure the length of the params
-    final var parameters = defaultData.parameters;
+    final var parameters = defaultData.parameters();
     if (parameters.length < 4)
       return defaultData.origin;
 
-    // try to connect to socket
+    // probe the address or read its cached liveness
     // 0 = address, 1 = port, 2 = true value, 3 = false value
+    final var deadline = Deadline.current();
+    if (deadline.isExpired())
+      return parameters[3];
     try {
-      final var socket = new Socket();
-      socket.connect(new InetSocketAddress(parameters[0], parseInt(parameters[1])), 500); // timeout in ms
-      socket.close();
-      return parameters[2];
-    } catch (IOException ignored) {
+      final var probe = cache.get(address(parameters));
+      final var alive = deadline.isBounded() ? probe.get(deadline.remainingNanos(), NANOSECONDS) : probe.join();
+      return alive ? parameters[2] : parameters[3];
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return parameters[3];
+    } catch (Exception ignored) {
       return parameters[3];
     }
   }
 
+  /**
+   * Probe without blocking, so every address in one resolve is probed in parallel.
+   *
+   * @see Placeholder#parseAsync(Object, DefaultData)
+   */
+  @Override
+  public CompletableFuture<Object> parseAsync(Object customData, DefaultData defaultData) {
+    // ensure the length of the params
+    final var parameters = defaultData.parameters();
+    if (parameters.length < 4)
+      return CompletableFuture.completedFuture(defaultData.origin);
+
+    // probe the address or read its cached liveness
+    final var deadline = Deadline.current();
+    if (deadline.isExpired())
+      return CompletableFuture.completedFuture(parameters[3]);
+    final Address address;
+    try {
+      address = address(parameters);
+    } catch (IllegalArgumentException ignored) {
+      return CompletableFuture.completedFuture(parameters[3]);
+    }
+    return deadline.bound(
+      cache
+        .get(address)
+        .<Object>thenApply(alive -> alive ? parameters[2] : parameters[3])
+        .exceptionally($ -> parameters[3]),
+      parameters[3]
+    );
+  }
+
+  /**
+   * Get a snapshot of the statistics of the liveness cache.
+   *
+   * @see CacheStatsSource#cacheStats()
+   */
+  @Override
+  public CacheSnapshot cacheStats() {
+    final var stats = cache.synchronous().stats();
+    return new CacheSnapshot(stats.hitCount(), stats.missCount(), stats.loadCount(), stats.evictionCount());
+  }
+
+  /**
+   * Destroy this placeholder, stopping the re-probes and prober.
+   */
+  public void destroy() {
+    if (reprober != null)
+      reprober.shutdownNow();
+
+    final var prober = this.prober;
+    if (prober != null)
+      prober.close();
+    cache.synchronous().invalidateAll();
+  }
+
+  /**
+   * @see Placeholder#lazyParameters()
+   */
+  @Override
+  public boolean lazyParameters() {
+    return true;
+  }
+
   /**
    * @see Placeholder#tag()
    */
@@ -42,4 +277,87 @@ public final class AddressAlivePlaceholder implements Placeholder {
   public String tag() {
     return "address_alive";
   }
-}
\ No newline at end of file
+
+  /**
+   * Re-probe every cached address.
+   */
+  private void reprobe() {
+    final var synchronous = cache.synchronous();
+    for (final Address address : synchronous.asMap().keySet())
+      synchronous.refresh(address);
+  }
+
+  /**
+   * Resolve and probe an address.
+   */
+  private CompletableFuture<Boolean> probe(Address address, Executor executor) {
+    return CompletableFuture
+      .supplyAsync(() -> new InetSocketAddress(address.host, address.port), executor)
+      .thenCompose(resolved -> this.prober().probe(resolved, connectTimeout));
+  }
+
+  /**
+   * Get the prober, creating it on first use.
+   */
+  private AddressProber prober() {
+    var prober = this.prober;
+    if (prober != null)
+      return prober;
+
+    synchronized (this) {
+      if (this.prober == null) {
+        try {
+          this.prober = new AddressProber();
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      }
+      return this.prober;
+    }
+  }
+
+  /**
+   * Create the address of the parameters passed.
+   *
+   * @throws IllegalArgumentException if the port is malformed or out of range.
+   */
+  private static Address address(String[] parameters) {
+    final int port = parseInt(parameters[1]);
+    if (port < 0 || port > 0xFFFF)
+      throw new IllegalArgumentException("port out of range: " + port);
+    return new Address(parameters[0], port);
+  }
+
+  /**
+   * This class represents a cache key of {@link AddressAlivePlaceholder}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Address {
+    private final String host;
+    private final int port;
+
+    private Address(String host, int port) {
+      this.host = host;
+      this.port = port;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Address))
+        return false;
+      final var address = (Address) other;
+      return address.port == port && address.host.equals(host);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * host.hashCode() + port;
+    }
+
+    @Override
+    public String toString() {
+      return host + ':' + port;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package xyz.oliwer.placeholder.def;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * This class represents the prober of addresses used by {@link AddressAlivePlaceholder}.
+ * Non-blocking connects are multiplexed over a single {@link Selector}, so any amount of probes
+ * run in parallel on one thread.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+final class AddressProber implements Closeable {
+  /**
+   * This class represents a connect in progress.
+   */
+  private static final class Probe {
+    private final SocketChannel channel;
+    private final CompletableFuture<Boolean> future;
+    private final long deadline;
+
+    private Probe(SocketChannel channel, CompletableFuture<Boolean> future, long deadline) {
+      this.channel = channel;
+      this.future = future;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Complete this probe and release its channel.
+     */
+    private void complete(boolean alive) {
+      closeQuietly(channel);
+      future.complete(alive);
+    }
+  }
+
+  /** {@link Selector} the selector of every connect in progress. **/
+  private final Selector selector;
+
+  /** {@link Queue} the probes waiting to be registered to the selector. **/
+  private final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+
+  /** {@link Boolean} whether this prober has been closed. **/
+  private volatile boolean closed;
+
+  AddressProber() throws IOException {
+    this.selector = Selector.open();
+
+    final var thread = new Thread(this::run, "address-alive-prober");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Probe whether an address accepts connections.
+   *
+   * @param address {@link InetSocketAddress} the address to connect to.
+   * @param timeoutNanos {@link Long} the connect timeout in nanoseconds.
+   * @return {@link CompletableFuture} the future of whether the address is alive.
+   */
+  CompletableFuture<Boolean> probe(InetSocketAddress address, long timeoutNanos) {
+    final var future = new CompletableFuture<Boolean>();
+    SocketChannel channel = null;
+    try {
+      channel = SocketChannel.open();
+      channel.configureBlocking(false);
+
+      // connected at once - usually the loopback
+      if (channel.connect(address)) {
+        closeQuietly(channel);
+        future.complete(true);
+        return future;
+      }
+
+      // hand over to the selector
+      pending.add(new Probe(channel, future, System.nanoTime() + timeoutNanos));
+      selector.wakeup();
+      if (closed)
+        this.failPending();
+    } catch (IOException | RuntimeException ignored) {
+      closeQuietly(channel);
+      future.complete(false);
+    }
+    return future;
+  }
+
+  /**
+   * Close this prober, failing every probe in progress.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    selector.wakeup();
+  }
+
+  /**
+   * The selector loop.
+   */
+  private void run() {
+    try {
+      while (!closed) {
+        // register the pending probes
+        Probe probe;
+        while ((probe = pending.poll()) != null) {
+          try {
+            probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+          } catch (IOException ignored) {
+            probe.complete(false);
+          }
+        }
+
+        // wait until the nearest deadline at most
+        long nearest = Long.MAX_VALUE;
+        final long now = System.nanoTime();
+        for (final SelectionKey key : selector.keys())
+          if (key.isValid())
+            nearest = Math.min(nearest, ((Probe) key.attachment()).deadline - now);
+        if (nearest == Long.MAX_VALUE)
+          selector.select();
+        else
+          selector.select(Math.max(1, NANOSECONDS.toMillis(nearest) + 1));
+
+        // complete every finished connect
+        final var selected = selector.selectedKeys();
+        for (final SelectionKey key : selected) {
+          final var current = (Probe) key.attachment();
+          try {
+            if (!current.channel.finishConnect())
+              continue;
+            current.complete(true);
+          } catch (IOException ignored) {
+            current.complete(false);
+          }
+          key.cancel();
+        }
+        selected.clear();
+
+        // expire every connect past its deadline
+        final long expiry = System.nanoTime();
+        for (final SelectionKey key : selector.keys()) {
+          final var current = (Probe) key.attachment();
+          if (key.isValid() && current.deadline - expiry <= 0) {
+            key.cancel();
+            current.complete(false);
+          }
+        }
+      }
+    } catch (IOException | ClosedSelectorException ignored) {
+      closed = true;
+    }
+
+    // fail everything left
+    for (final SelectionKey key : selector.keys())
+      ((Probe) key.attachment()).complete(false);
+    this.failPending();
+    closeQuietly(selector);
+  }
+
+  /**
+   * Fail every probe waiting to be registered.
+   */
+  private void failPending() {
+    Probe probe;
+    while ((probe = pending.poll()) != null)
+      probe.complete(false);
+  }
+
+  /**
+   * Close a resource, ignoring failures.
+   */
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable == null)
+      return;
+    try {
+      closeable.close();
+    } catch (IOException ignored) {}
+  }
+}
@@ -1,25 +1,43 @@
 package xyz.oliwer.placeholder.def;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.data.Deadline;
 import xyz.oliwer.placeholder.data.DefaultData;
-import xyz.oliwer.placeholder.json.Deserialized;
 import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.json.JsonPath;
+import xyz.oliwer.placeholder.metrics.CacheSnapshot;
+import xyz.oliwer.placeholder.metrics.CacheStatsSource;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.LinkedHashMap;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static java.lang.Integer.parseInt;
-import static java.lang.String.format;
 import static java.net.http.HttpRequest.BodyPublishers;
 import static java.net.http.HttpResponse.BodyHandlers;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Duration.ofSeconds;
-import static java.util.regex.Pattern.compile;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * This class represents the "API" implementation of {@link Placeholder}.
@@ -27,178 +45,825 @@ import static java.util.regex.Pattern.compile;
  *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
-public final class ApiPlaceholder implements Placeholder {
+public final class ApiPlaceholder implements Placeholder, CacheStatsSource {
   /**
-   * {@link Pattern} the origin cutter pattern.
+   * {@link JsonParser} this property represents the json parser.
    */
-  private static final Pattern CUT_ORIGIN_PATTERN = compile(
-    "api\\((.+),(.*),(.*),(.*),(.*)\\)"
-  );
+  private final JsonParser json;
 
   /**
-   * {@link JsonParser} this property represents the json parser.
+   * {@link AsyncLoadingCache} this property represents the response cache keyed by endpoint.
+   * Concurrent misses of one endpoint share a single request, and entries close to expiry are
+   * refreshed in the background while the stale value keeps being served.
    */
-  private final JsonParser json;
+  private final AsyncLoadingCache<Endpoint, Response> cache;
+
+  /**
+   * {@link Boolean} this property represents whether raw response bodies are kept to extract further paths from.
+   */
+  private final boolean retainBody;
 
   /**
-   * {@link Cache} this property represents the 30 second' cache.
+   * {@link Duration} this property represents the timeout of a request, from sending it until its response headers.
    */
-  private final Cache<String, Deserialized> cache = Caffeine
+  private final Duration requestTimeout;
+
+  /**
+   * {@link String} this property represents the value rendered once the deadline of a resolve has passed, null for the origin.
+   */
+  private final String fallback;
+
+  /**
+   * {@link CircuitBreaker} this property represents the breaker of failing hosts, null if disabled.
+   */
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * {@link ResponseStore} this property represents the persistent tier consulted on misses, null if disabled.
+   */
+  private final ResponseStore store;
+
+  /**
+   * {@link Map} this property represents the hits of every tracked endpoint since the last prefetch, null if disabled.
+   */
+  private final Map<Endpoint, AtomicInteger> hits;
+
+  /**
+   * {@link Integer} this property represents the amount of hottest endpoints prefetched per interval.
+   */
+  private final int prefetchSize;
+
+  /**
+   * {@link Integer} this property represents the maximum amount of endpoints tracked.
+   */
+  private final int trackedSize;
+
+  /**
+   * {@link ScheduledExecutorService} this property represents the scheduler created for prefetches, null if not owned.
+   */
+  private final ScheduledExecutorService prefetcher;
+
+  /**
+   * {@link ScheduledFuture} this property represents the scheduled prefetches, null if disabled.
+   */
+  private final ScheduledFuture<?> prefetches;
+
+  /**
+   * {@link Cache} this property represents the compiled json paths keyed by their text.
+   */
+  private final Cache<String, JsonPath> paths = Caffeine
     .newBuilder()
-    .expireAfterWrite(ofSeconds(30))
-    .maximumSize(1_500)
+    .maximumSize(1_024)
     .build();
 
+  /**
+   * {@link HttpClient} this property represents the long-lived client, shared so connections,
+   * TLS sessions and HTTP/2 streams are reused across requests.
+   */
+  private final HttpClient client;
+
+  /**
+   * {@link ExecutorService} this property represents the executor created for the client, null if not owned.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * {@link Boolean} this property represents whether the client was created by this placeholder.
+   */
+  private final boolean ownsClient;
+
+  /**
+   * This class represents the builder of {@link ApiPlaceholder}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Builder {
+    private final JsonParser json;
+    private HttpClient client;
+    private Executor executor;
+    private Duration connectTimeout = ofSeconds(5);
+    private HttpClient.Version version = HttpClient.Version.HTTP_2;
+    private Duration expireAfterWrite = ofSeconds(30);
+    private Duration refreshAhead = ofSeconds(5);
+    private long maximumSize = 1_500;
+    private boolean retainBody = true;
+    private Duration requestTimeout = ofSeconds(10);
+    private String fallback;
+    private CircuitBreaker circuitBreaker;
+    private Duration prefetchInterval;
+    private int prefetchSize;
+    private ScheduledExecutorService prefetchScheduler;
+    private Path persistentCache;
+
+    private Builder(JsonParser json) {
+      this.json = json;
+    }
+
+    /**
+     * Use an existing client, the remaining client options are then ignored.
+     * A client passed here is not shut down on {@link ApiPlaceholder#destroy()}.
+     *
+     * @param client {@link HttpClient} the client to send requests with.
+     * @return {@link Builder} current instance.
+     */
+    public Builder client(HttpClient client) {
+      this.client = client;
+      return this;
+    }
+
+    /**
+     * Set the executor of the client.
+     * By default, virtual threads are used when available, a cached pool of daemon threads otherwise.
+     * An executor passed here is not shut down on {@link ApiPlaceholder#destroy()}.
+     *
+     * @param executor {@link Executor} the executor of the client.
+     * @return {@link Builder} current instance.
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Set the connect timeout of the client.
+     *
+     * @param connectTimeout {@link Duration} the connect timeout.
+     * @return {@link Builder} current instance.
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Set the preferred HTTP version of the client.
+     * Connections of a client are pooled per instance - the size of the pool is governed by the
+     * <b>jdk.httpclient.connectionPoolSize</b> and <b>jdk.httpclient.keepalive.timeout</b> system properties.
+     *
+     * @param version {@link HttpClient.Version} the preferred version.
+     * @return {@link Builder} current instance.
+     */
+    public Builder version(HttpClient.Version version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * Set how long a response is cached for.
+     *
+     * @param expireAfterWrite {@link Duration} the lifetime of a cached response.
+     * @return {@link Builder} current instance.
+     */
+    public Builder expireAfterWrite(Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+      return this;
+    }
+
+    /**
+     * Set the window before expiry in which an accessed response is refreshed in the background,
+     * serving the stale response meanwhile. A zero window disables refreshing.
+     *
+     * @param refreshAhead {@link Duration} the refresh-ahead window, shorter than the lifetime.
+     * @return {@link Builder} current instance.
+     */
+    public Builder refreshAhead(Duration refreshAhead) {
+      this.refreshAhead = refreshAhead;
+      return this;
+    }
+
+    /**
+     * Set the maximum amount of cached responses.
+     *
+     * @param maximumSize {@link Long} the maximum amount of cached responses.
+     * @return {@link Builder} current instance.
+     */
+    public Builder maximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Set whether raw response bodies are cached, so other paths of one endpoint are extracted without a request.
+     * Otherwise, only the extracted values are cached and every distinct path is a request of its own,
+     * which suits large responses read along a single path.
+     *
+     * @param retainBody {@link Boolean} whether raw response bodies are cached.
+     * @return {@link Builder} current instance.
+     */
+    public Builder retainBody(boolean retainBody) {
+      this.retainBody = retainBody;
+      return this;
+    }
+
+    /**
+     * Set the timeout of a request, from sending it until its response headers.
+     *
+     * @param requestTimeout {@link Duration} the request timeout.
+     * @return {@link Builder} current instance.
+     */
+    public Builder requestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+      return this;
+    }
+
+    /**
+     * Set the value rendered once the deadline of a resolve has passed, rather than the origin.
+     * The request keeps running and its response is cached for later renders.
+     *
+     * @param fallback {@link String} the fallback value, or null for the origin.
+     * @return {@link Builder} current instance.
+     * @see Deadline
+     */
+    public Builder fallback(String fallback) {
+      this.fallback = fallback;
+      return this;
+    }
+
+    /**
+     * Send requests through a circuit breaker keyed by host, so an endpoint failing to answer is not requested
+     * again until its failure expires, nor a host failing repeatedly until its circuit lets a trial through -
+     * the origin is rendered meanwhile.
+     *
+     * @param circuitBreaker {@link CircuitBreaker} the breaker, possibly shared, or null to disable it.
+     * @return {@link Builder} current instance.
+     */
+    public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+      this.circuitBreaker = circuitBreaker;
+      return this;
+    }
+
+    /**
+     * Re-fetch the hottest endpoints in the background on a fixed interval, so they are renewed before expiring
+     * and renders keep reading them from the cache. Endpoints not rendered within an interval go cold and are no
+     * longer tracked. Prefetches are scheduled on a single daemon thread, stopped on {@link ApiPlaceholder#destroy()}.
+     *
+     * @param prefetchInterval {@link Duration} the interval between prefetches, shorter than the cache lifetime.
+     * @param prefetchSize {@link Integer} the amount of hottest endpoints prefetched per interval.
+     * @return {@link Builder} current instance.
+     */
+    public Builder prefetchEvery(Duration prefetchInterval, int prefetchSize) {
+      if (prefetchSize < 1)
+        throw new IllegalArgumentException("prefetch size must be positive");
+      this.prefetchInterval = prefetchInterval;
+      this.prefetchSize = prefetchSize;
+      return this;
+    }
+
+    /**
+     * Set the scheduler of prefetches.
+     * By default, prefetches are scheduled on a single daemon thread of their own.
+     * A scheduler passed here is not shut down on {@link ApiPlaceholder#destroy()}, only the prefetches are cancelled.
+     *
+     * @param prefetchScheduler {@link ScheduledExecutorService} the scheduler of prefetches.
+     * @return {@link Builder} current instance.
+     */
+    public Builder prefetchScheduler(ScheduledExecutorService prefetchScheduler) {
+      this.prefetchScheduler = prefetchScheduler;
+      return this;
+    }
+
+    /**
+     * Persist every successful response fetched to a file, consulted on misses of the in-memory cache so a restart
+     * starts warm. Responses keep expiring by the time they were fetched at, across restarts too.
+     * The file is read and written on a thread of its own, indexed on first use, and a write torn by a crash
+     * is discarded rather than served. Destroying the placeholder waits for the pending writes.
+     *
+     * @param persistentCache {@link Path} the file of the persistent cache, or null to disable it.
+     * @return {@link Builder} current instance.
+     */
+    public Builder persistentCache(Path persistentCache) {
+      this.persistentCache = persistentCache;
+      return this;
+    }
+
+    /**
+     * Build the placeholder.
+     *
+     * @return {@link ApiPlaceholder}
+     */
+    public ApiPlaceholder build() {
+      return new ApiPlaceholder(this);
+    }
+  }
+
   /**
    * Primary constructor.
    *
    * @param jsonParser {@link JsonParser} parser used to serialize and deserialize json content.
    */
   public ApiPlaceholder(JsonParser jsonParser) {
-    this.json = jsonParser;
+    this(new Builder(jsonParser));
+  }
+
+  /**
+   * Builder constructor.
+   */
+  private ApiPlaceholder(Builder builder) {
+    // ensure the lifetimes agree before anything is started
+    if (builder.refreshAhead.isNegative() || builder.refreshAhead.compareTo(builder.expireAfterWrite) >= 0)
+      throw new IllegalArgumentException("refresh-ahead window must be shorter than the cache lifetime");
+    if (builder.prefetchInterval != null && builder.prefetchInterval.compareTo(builder.expireAfterWrite) >= 0)
+      throw new IllegalArgumentException("prefetch interval must be shorter than the cache lifetime");
+
+    this.json = builder.json;
+    this.retainBody = builder.retainBody;
+    this.requestTimeout = builder.requestTimeout;
+    this.fallback = builder.fallback;
+    this.circuitBreaker = builder.circuitBreaker;
+
+    // create the cache
+    final var cacheBuilder = Caffeine
+      .newBuilder()
+      .maximumSize(builder.maximumSize)
+      .recordStats();
+    if (builder.persistentCache == null)
+      cacheBuilder.expireAfterWrite(builder.expireAfterWrite);
+    else
+      cacheBuilder.expireAfter(new Lifetime(builder.expireAfterWrite.toMillis()));
+    if (!builder.refreshAhead.isZero())
+      cacheBuilder.refreshAfterWrite(builder.expireAfterWrite.minus(builder.refreshAhead));
+    this.cache = cacheBuilder.buildAsync(new AsyncCacheLoader<>() {
+      @Override
+      public CompletableFuture<Response> asyncLoad(Endpoint endpoint, Executor executor) {
+        return load(endpoint, executor);
+      }
+
+      @Override
+      public CompletableFuture<Response> asyncReload(Endpoint endpoint, Response previous, Executor executor) {
+        return fetch(endpoint);
+      }
+    });
+
+    // schedule the prefetches
+    this.prefetchSize = builder.prefetchSize;
+    this.trackedSize = (int) Math.min(Integer.MAX_VALUE, builder.maximumSize);
+    if (builder.prefetchInterval == null) {
+      this.hits = null;
+      this.prefetcher = null;
+      this.prefetches = null;
+    } else {
+      this.hits = new ConcurrentHashMap<>();
+      this.prefetcher = builder.prefetchScheduler == null
+        ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+          final var thread = new Thread(runnable, "api-placeholder-prefetcher");
+          thread.setDaemon(true);
+          return thread;
+        })
+        : null;
+      final long interval = builder.prefetchInterval.toNanos();
+      this.prefetches = (prefetcher == null ? builder.prefetchScheduler : prefetcher)
+        .scheduleWithFixedDelay(this::prefetch, interval, interval, NANOSECONDS);
+    }
+
+    // use the client passed as is, or create it
+    if (builder.client != null) {
+      this.client = builder.client;
+      this.executor = null;
+      this.ownsClient = false;
+    } else {
+      this.executor = builder.executor == null ? newExecutor() : null;
+      this.client = HttpClient
+        .newBuilder()
+        .executor(builder.executor == null ? this.executor : builder.executor)
+        .connectTimeout(builder.connectTimeout)
+        .version(builder.version)
+        .build();
+      this.ownsClient = true;
+    }
+
+    // open the persistent tier last, as it holds a thread and the file until destroyed
+    this.store = builder.persistentCache == null ? null : new ResponseStore(builder.persistentCache, builder.expireAfterWrite);
   }
 
-  /** @see Placeholder#parse(Object, DefaultData) **/
+  /**
+   * Create a new builder of this placeholder.
+   *
+   * @param jsonParser {@link JsonParser} parser used to serialize and deserialize json content.
+   * @return {@link Builder}
+   */
+  public static Builder builder(JsonParser jsonParser) {
+    return new Builder(jsonParser);
+  }
+
+  /**
+   * Wait for the response no longer than the current deadline, if any.
+   *
+   * @see Placeholder#parse(Object, DefaultData)
+   */
   @Override
   public Object parse(Object customData, DefaultData defaultData) {
     // necessities
-    final var parameters = defaultData.parameters;
     final var origin = defaultData.origin;
-    final var originCut = cutOrigin(origin, defaultData.startDelimiter, defaultData.endDelimiter);
+    final var deadline = Deadline.current();
+    if (deadline.isExpired())
+      return this.fallback(origin);
+
+    // fetch from the cache, joining the request in flight if any
+    try {
+      final var endpoint = new Endpoint(defaultData, retainBody);
+      this.track(endpoint);
+      final var response = deadline.isBounded()
+        ? cache.get(endpoint).get(deadline.remainingNanos(), NANOSECONDS)
+        : cache.get(endpoint).join();
+      return response.value(this.path(defaultData));
+    } catch (TimeoutException exception) {
+      return this.fallback(origin);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ignored) {}
+
+    // an exception was caught and has relinquished the url - return the origin
+    return origin;
+  }
+
+  /**
+   * Fetch without blocking, so several invocations in one resolve run concurrently.
+   *
+   * @see Placeholder#parseAsync(Object, DefaultData)
+   */
+  @Override
+  public CompletableFuture<Object> parseAsync(Object customData, DefaultData defaultData) {
+    // necessities
+    final var origin = defaultData.origin;
+    final var deadline = Deadline.current();
+    if (deadline.isExpired())
+      return CompletableFuture.completedFuture(this.fallback(origin));
+    final Endpoint endpoint;
+    try {
+      endpoint = new Endpoint(defaultData, retainBody);
+    } catch (RuntimeException exception) {
+      return CompletableFuture.completedFuture(origin);
+    }
+    this.track(endpoint);
 
-    // check cache
-    final var cached = cache.getIfPresent(originCut);
-    if (cached != null)
-      return extract(originCut, cached.copy(), parameters[1], false);
+    // fetch from the cache - an exception relinquishes the url and completes with the origin
+    return deadline.bound(
+      cache
+        .get(endpoint)
+        .<Object>thenApply(response -> response.value(this.path(defaultData)))
+        .exceptionally($ -> origin),
+      this.fallback(origin)
+    );
+  }
 
-    // handle request
+  /**
+   * Get the value rendered once the deadline has passed.
+   */
+  private String fallback(String origin) {
+    return fallback == null ? origin : fallback;
+  }
+
+  /**
+   * Count a hit of an endpoint if prefetching, tracking it unless too many endpoints already are.
+   */
+  private void track(Endpoint endpoint) {
+    if (hits == null)
+      return;
+
+    var counter = hits.get(endpoint);
+    if (counter == null) {
+      if (hits.size() >= trackedSize)
+        return;
+      counter = hits.computeIfAbsent(endpoint, $ -> new AtomicInteger());
+    }
+    counter.incrementAndGet();
+  }
+
+  /**
+   * Refresh the hottest endpoints since the last prefetch, forgetting the ones gone cold.
+   */
+  private void prefetch() {
+    // an exception escaping would cancel every later prefetch
     try {
-      // create the client & request
-      final var client = HttpClient.newHttpClient();
-      final var request = HttpRequest
-        .newBuilder(URI.create(parameters[0]));
-
-      // prepare request headers
-      final var headers = parameters[3].split(";;");
-      for (final String header : headers) {
-        final var pair = header.split("=");
-        if (pair.length < 2)
+      // find the hottest, the coldest of them on top
+      final var hottest = new PriorityQueue<Map.Entry<Endpoint, Integer>>(Map.Entry.comparingByValue());
+      for (final var entry : hits.entrySet()) {
+        final int count = entry.getValue().getAndSet(0);
+        if (count == 0) {
+          // forget it unless hit meanwhile
+          hits.computeIfPresent(entry.getKey(), ($, counter) -> counter.get() == 0 ? null : counter);
           continue;
-        request.setHeader(pair[0], pair[1]);
+        }
+        hottest.add(Map.entry(entry.getKey(), count));
+        if (hottest.size() > prefetchSize)
+          hottest.poll();
       }
 
-      // overridden headers
-      request.setHeader("User-Agent", "API-Text-Action");
-      request.setHeader("Content-Type", "application/json");
-
-      // prepare request body
-      final var requestType = parameters[2];
-      switch (requestType) {
-        case "GET":
-          request.GET();
-          break;
-        case "DELETE":
-          request.DELETE();
-          break;
-        default: {
-          // fetch and build the body
-          final var body = new LinkedHashMap<>();
-          final var bodyProperties = parameters[4].split(";;");
-
-          for (final String bodyProperty : bodyProperties) {
-            final var pair = bodyProperty.split("=");
-            if (pair.length < 2)
-              continue;
-            body.put(pair[0], pair[1]);
-          }
-
-          final var bodyPublisher = BodyPublishers.ofString(json.serialize(body));
-          // set request type accordingly
-          switch (requestType) {
-            case "POST":
-              request.POST(bodyPublisher);
-              break;
-            case "PUT":
-              request.PUT(bodyPublisher);
-              break;
-            default:
-              return origin;
-          }
-        }
+      // refresh - a failed refresh keeps the cached response
+      final var synchronous = cache.synchronous();
+      for (final var entry : hottest)
+        synchronous.refresh(entry.getKey());
+    } catch (RuntimeException ignored) {}
+  }
+
+  /**
+   * Load the response of an endpoint, called by the cache on a miss - read from the persistent tier if stored.
+   */
+  private CompletableFuture<Response> load(Endpoint endpoint, Executor executor) {
+    if (store == null)
+      return this.fetch(endpoint);
+    final var key = endpoint.toString();
+    return store.get(key, executor).thenCompose(stored -> {
+      if (stored == null)
+        return this.fetch(endpoint);
+      try {
+        return CompletableFuture.completedFuture(
+          new Response(json, stored.body, this.path(endpoint.defaultData), retainBody, stored.writtenAt)
+        );
+      } catch (RuntimeException exception) {
+        // the stored body cannot be extracted from, drop it and fetch it anew
+        store.remove(key);
+        return this.fetch(endpoint);
       }
+    });
+  }
 
-      // send request
-      final var response = client.send(request.build(), BodyHandlers.ofString(UTF_8));
-      final var responseBody = response.body();
+  /**
+   * Fetch the response of an endpoint, called on a miss or refresh.
+   */
+  private CompletableFuture<Response> fetch(Endpoint endpoint) {
+    // create the request
+    final HttpRequest request;
+    try {
+      request = this.request(endpoint.defaultData.parameters());
+    } catch (RuntimeException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+    if (request == null)
+      return CompletableFuture.failedFuture(new IllegalArgumentException("unsupported request type"));
 
-      // return value
-      return extract(originCut, json.deserialize(responseBody), parameters[1], true);
-    } catch (Exception ignored) {}
+    // send request, extracting the path of the endpoint right away
+    final var path = this.path(endpoint.defaultData);
+    final CompletableFuture<HttpResponse<byte[]>> sent;
+    if (circuitBreaker == null)
+      sent = client.sendAsync(request, BodyHandlers.ofByteArray());
+    else {
+      // through the circuit of the host, caching failures per endpoint - only failing to be answered counts as a failure
+      final var uri = request.uri();
+      sent = circuitBreaker.call(
+        uri.getScheme() + "://" + uri.getRawAuthority(),
+        endpoint,
+        () -> client.sendAsync(request, BodyHandlers.ofByteArray())
+      );
+    }
+    return sent.thenApply(response -> {
+      // persist successful responses only once extracted from, so a bad body is never served again
+      final long writtenAt = System.currentTimeMillis();
+      final var fetched = new Response(json, response.body(), path, retainBody, writtenAt);
+      if (store != null && response.statusCode() / 100 == 2)
+        store.put(endpoint.toString(), response.body(), writtenAt);
+      return fetched;
+    });
+  }
 
-    // an exception was caught and has relinquished the url - return the origin
-    return origin;
+  /**
+   * Create the request from the parameters passed.
+   *
+   * @return {@link HttpRequest} the request, or null if the request type is not supported.
+   */
+  private HttpRequest request(String[] parameters) {
+    final var request = HttpRequest
+      .newBuilder(URI.create(parameters[0]));
+    if (requestTimeout != null)
+      request.timeout(requestTimeout);
+
+    // prepare request headers
+    final var headers = parameters[3].split(";;");
+    for (final String header : headers) {
+      final var pair = header.split("=");
+      if (pair.length < 2)
+        continue;
+      request.setHeader(pair[0], pair[1]);
+    }
+
+    // overridden headers
+    request.setHeader("User-Agent", "API-Text-Action");
+    request.setHeader("Content-Type", "application/json");
+
+    // prepare request body
+    final var requestType = parameters[2];
+    switch (requestType) {
+      case "GET":
+        request.GET();
+        break;
+      case "DELETE":
+        request.DELETE();
+        break;
+      default: {
+        // fetch and build the body
+        final var body = new LinkedHashMap<>();
+        final var bodyProperties = parameters[4].split(";;");
+
+        for (final String bodyProperty : bodyProperties) {
+          final var pair = bodyProperty.split("=");
+          if (pair.length < 2)
+            continue;
+          body.put(pair[0], pair[1]);
+        }
+
+        final var bodyPublisher = BodyPublishers.ofString(json.serialize(body));
+        // set request type accordingly
+        switch (requestType) {
+          case "POST":
+            request.POST(bodyPublisher);
+            break;
+          case "PUT":
+            request.PUT(bodyPublisher);
+            break;
+          default:
+            return null;
+        }
+      }
+    }
+    return request.build();
+  }
+
+  /**
+   * Get a snapshot of the statistics of the response cache.
+   *
+   * @see CacheStatsSource#cacheStats()
+   */
+  @Override
+  public CacheSnapshot cacheStats() {
+    final var stats = cache.synchronous().stats();
+    return new CacheSnapshot(stats.hitCount(), stats.missCount(), stats.loadCount(), stats.evictionCount());
   }
 
   /**
    * Destroy this placeholder.
    */
   public void destroy() {
-    cache.cleanUp();
+    if (prefetches != null)
+      prefetches.cancel(true);
+    if (prefetcher != null)
+      prefetcher.shutdownNow();
+    if (store != null)
+      store.close();
+    cache.synchronous().cleanUp();
+
+    // shut down the client if it is ours
+    if (!ownsClient)
+      return;
+    if (client instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) client).close();
+      } catch (Exception ignored) {}
+    }
+    if (executor != null)
+      executor.shutdown();
+  }
+
+  /**
+   * Get the compiled path of an invocation, compiling it once.
+   */
+  private JsonPath path(DefaultData defaultData) {
+    return paths.get(defaultData.parameters()[1], JsonPath::compile);
   }
 
   /**
-   * Extract specified property from the formatted paths.
+   * This class represents a cached response of {@link ApiPlaceholder}.
+   * Values are extracted from the raw body once per path, without ever building a tree of the whole response.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
    */
-  private Deserialized extract(String origin, Deserialized next, String formattedPaths, boolean cache) {
-    // cache if specified
-    if (cache)
-      this.cache.put(origin, next.copy());
+  private static final class Response {
+    private final JsonParser json;
 
-    // necessity
-    final var paths = formattedPaths.split("\\.");
-    final var lastIndex = paths.length - 1;
-    Deserialized value = null;
+    /** {@link Byte} array of the raw body, null if not retained. **/
+    private final byte[] body;
 
-    // return the deserialized value if there is no path
-    if (lastIndex == -1 || lastIndex == 0 && paths[0].isBlank())
-      return next;
+    /** {@link Map} the values extracted so far by path. **/
+    private final Map<JsonPath, String> values = new ConcurrentHashMap<>();
+
+    /** {@link Long} the epoch millisecond the response was fetched at. **/
+    private final long writtenAt;
+
+    private Response(JsonParser json, byte[] body, JsonPath path, boolean retainBody, long writtenAt) {
+      this.json = json;
+      this.body = retainBody ? body : null;
+      this.writtenAt = writtenAt;
+      this.values.put(path, extract(json, body, path));
+    }
 
-    // extract content
-    for (int index = 0; index < paths.length; index++) {
+    /**
+     * Get the value of a path, extracting it on first access.
+     */
+    private String value(JsonPath path) {
+      final var value = values.get(path);
       if (value != null)
-        return null;
+        return value;
+      if (body == null)
+        throw new IllegalStateException("response body not retained");
+      return values.computeIfAbsent(path, $ -> extract(json, body, path));
+    }
 
-      final String path = paths[index];
-      final int pathLength = path.length();
+    /**
+     * Extract a single path from a body, a path not found being empty.
+     */
+    private static String extract(JsonParser json, byte[] body, JsonPath path) {
+      return json.extract(body, List.of(path)).getOrDefault(path, "");
+    }
+  }
 
-      if (pathLength >= 3 && path.charAt(0) == '[' && path.charAt(pathLength - 1) == ']') {
-        next = next.get(indexFromSpec(path));
-      } else {
-        next = next.get(path);
-      }
+  /**
+   * This class represents the lifetime of cached responses read back from the persistent tier,
+   * counted from the time they were fetched at rather than the time they were cached at.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Lifetime implements Expiry<Endpoint, Response> {
+    private final long ttlMillis;
+
+    private Lifetime(long ttlMillis) {
+      this.ttlMillis = ttlMillis;
+    }
 
-      if (index == lastIndex)
-        value = next;
+    @Override
+    public long expireAfterCreate(Endpoint endpoint, Response response, long currentTime) {
+      final long remaining = ttlMillis - (System.currentTimeMillis() - response.writtenAt);
+      return MILLISECONDS.toNanos(Math.max(0, remaining));
     }
 
-    // return value
-    return value;
+    @Override
+    public long expireAfterUpdate(Endpoint endpoint, Response response, long currentTime, long currentDuration) {
+      return this.expireAfterCreate(endpoint, response, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Endpoint endpoint, Response response, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 
   /**
-   * Cut the passed down origin.
+   * This class represents a cache key of {@link ApiPlaceholder}.
+   * Endpoints are equal by their origin, without the path parameter if bodies are retained.
+   * The data is kept to (re)load the response.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
    */
-  private String cutOrigin(String origin, char startDelimiter, char endDelimiter) {
-    final var matcher = CUT_ORIGIN_PATTERN.matcher(origin);
-    if (!matcher.find())
-      throw new RuntimeException("failed to match origin");
-    return matcher.replaceFirst(
-      format(
-        "%sapi($1,,$3,$4,$5)%s",
-        startDelimiter,
-        endDelimiter
-      )
-    );
+  private static final class Endpoint {
+    private final DefaultData defaultData;
+    private final String origin;
+
+    /** {@link Integer} the start index of the path parameter in the origin (inclusive). **/
+    private final int pathStart;
+
+    /** {@link Integer} the end index of the path parameter in the origin (exclusive). **/
+    private final int pathEnd;
+
+    private final int hash;
+
+    private Endpoint(DefaultData defaultData, boolean withoutPath) {
+      // ensure the amount of parameters
+      if (defaultData.parameterCount() < 5)
+        throw new RuntimeException("failed to match origin");
+
+      // find the path - the second parameter, kept as part of the key if responses are cached per path
+      // or if the parameters were not read from the origin
+      this.defaultData = defaultData;
+      this.origin = defaultData.origin;
+      final int start = withoutPath ? defaultData.parameterStart(1) : -1;
+      this.pathStart = start == -1 ? origin.length() : start;
+      this.pathEnd = start == -1 ? origin.length() : defaultData.parameterEnd(1);
+
+      // hash everything else
+      int hash = 0;
+      for (int index = 0; index < pathStart; index++)
+        hash = 31 * hash + origin.charAt(index);
+      for (int index = pathEnd; index < origin.length(); index++)
+        hash = 31 * hash + origin.charAt(index);
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Endpoint))
+        return false;
+      final var endpoint = (Endpoint) other;
+      final int suffix = origin.length() - pathEnd;
+      return endpoint.hash == hash
+        && endpoint.pathStart == pathStart
+        && endpoint.origin.length() - endpoint.pathEnd == suffix
+        && endpoint.origin.regionMatches(0, origin, 0, pathStart)
+        && endpoint.origin.regionMatches(endpoint.pathEnd, origin, pathEnd, suffix);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+
+    @Override
+    public String toString() {
+      return origin.substring(0, pathStart) + origin.substring(pathEnd);
+    }
+  }
+
+  /** @see Placeholder#lazyParameters() **/
+  @Override
+  public boolean lazyParameters() {
+    return true;
   }
 
   /** @see Placeholder#tag() **/
@@ -214,10 +879,19 @@ public final class ApiPlaceholder implements Placeholder {
   }
 
   /**
-   * <b>Example:</b> [index]
-   * @return {@link Integer}
+   * Create the default executor of the client - virtual threads when available (Java 21+).
    */
-  private static int indexFromSpec(String spec) {
-    return parseInt(spec.substring(1, spec.length() - 1));
+  private static ExecutorService newExecutor() {
+    try {
+      return (ExecutorService) Executors.class
+        .getMethod("newVirtualThreadPerTaskExecutor")
+        .invoke(null);
+    } catch (ReflectiveOperationException ignored) {}
+
+    return Executors.newCachedThreadPool(runnable -> {
+      final var thread = new Thread(runnable, "api-placeholder-http");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 }
\ No newline at end of file
@@ -0,0 +1,418 @@
+package xyz.oliwer.placeholder.def;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.time.Duration.ofSeconds;
+
+/**
+ * This class represents the circuit breaker of I/O bound placeholders such as
+ * {@link ApiPlaceholder} and {@link AddressAlivePlaceholder}, which may share one instance.
+ * <p>
+ * Calls run through a circuit, such as the one of a host, on behalf of an endpoint within it.
+ * Every failure is cached for a short time per endpoint, failing the calls to the same endpoint that follow fast
+ * instead of paying for the failure again - other endpoints of the circuit are still let through.
+ * Consecutive failures reaching the threshold open the circuit, so calls fail fast until it has been open
+ * long enough - then a single trial call is let through while half open, closing the circuit on success.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class CircuitBreaker {
+  /**
+   * This enum represents the states of a circuit.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public enum State {
+    /** Calls are let through. **/
+    CLOSED,
+
+    /** Calls fail fast. **/
+    OPEN,
+
+    /**
+     * A single trial call is let through, deciding whether the circuit closes or opens again.
+     * A trial outliving the open duration counts as failed.
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * This interface represents the listener of circuit state changes.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /** {@link Listener} the listener doing nothing. **/
+    Listener NONE = (key, previous, next) -> {};
+
+    /**
+     * Called whenever a circuit changes state.
+     *
+     * @param key {@link Object} the circuit.
+     * @param previous {@link State} the previous state.
+     * @param next {@link State} the new state.
+     */
+    void onStateChange(Object key, State previous, State next);
+  }
+
+  /**
+   * This class represents the exception failing calls while a circuit is open or the failure of an endpoint is cached.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class RejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private RejectedException(Object key) {
+      super("call to " + key + " rejected by circuit breaker", null, false, false);
+    }
+  }
+
+  /**
+   * This class represents the builder of {@link CircuitBreaker}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Builder {
+    private int failureThreshold = 5;
+    private Duration openDuration = ofSeconds(30);
+    private Duration failureTtl = ofSeconds(2);
+    private long maximumSize = 1_500;
+    private Listener listener = Listener.NONE;
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Builder() {}
+
+    /**
+     * Set the amount of consecutive failures opening the circuit of an endpoint.
+     *
+     * @param failureThreshold {@link Integer} the amount of consecutive failures.
+     * @return {@link Builder} current instance.
+     */
+    public Builder failureThreshold(int failureThreshold) {
+      if (failureThreshold < 1)
+        throw new IllegalArgumentException("failure threshold must be positive");
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * Set how long a circuit stays open before a trial call is let through.
+     *
+     * @param openDuration {@link Duration} the open duration.
+     * @return {@link Builder} current instance.
+     */
+    public Builder openDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    /**
+     * Set how long the failure of an endpoint is cached for, failing the calls to it that follow fast.
+     * A zero duration disables it.
+     *
+     * @param failureTtl {@link Duration} the lifetime of a cached failure.
+     * @return {@link Builder} current instance.
+     */
+    public Builder failureTtl(Duration failureTtl) {
+      this.failureTtl = failureTtl;
+      return this;
+    }
+
+    /**
+     * Set the maximum amount of circuits tracked, and of endpoints whose failure is cached.
+     *
+     * @param maximumSize {@link Long} the maximum amount of circuits and endpoints.
+     * @return {@link Builder} current instance.
+     */
+    public Builder maximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Set the listener of circuit state changes.
+     *
+     * @param listener {@link Listener} the listener.
+     * @return {@link Builder} current instance.
+     */
+    public Builder listener(Listener listener) {
+      if (listener == null)
+        throw new NullPointerException("listener must NOT be null");
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Set the source of time of circuits, the system one by default.
+     *
+     * @param ticker {@link Ticker} the source of time in nanoseconds.
+     * @return {@link Builder} current instance.
+     */
+    public Builder ticker(Ticker ticker) {
+      if (ticker == null)
+        throw new NullPointerException("ticker must NOT be null");
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * Build the circuit breaker.
+     *
+     * @return {@link CircuitBreaker}
+     */
+    public CircuitBreaker build() {
+      return new CircuitBreaker(this);
+    }
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final Listener listener;
+  private final Ticker ticker;
+
+  /** {@link Cache} the circuit of every key tracked, idle circuits being forgotten. **/
+  private final Cache<Object, Circuit> circuits;
+
+  /** {@link Cache} the endpoints whose last call failed recently, null if failures are not cached. **/
+  private final Cache<Object, Boolean> failures;
+
+  private CircuitBreaker(Builder builder) {
+    this.failureThreshold = builder.failureThreshold;
+    this.openNanos = builder.openDuration.toNanos();
+    this.listener = builder.listener;
+    this.ticker = builder.ticker;
+    this.circuits = Caffeine
+      .newBuilder()
+      .ticker(builder.ticker)
+      .maximumSize(builder.maximumSize)
+      .expireAfterAccess(builder.openDuration.multipliedBy(2))
+      .build();
+    this.failures = builder.failureTtl.isZero()
+      ? null
+      : Caffeine
+        .newBuilder()
+        .ticker(builder.ticker)
+        .maximumSize(builder.maximumSize)
+        .expireAfterWrite(builder.failureTtl)
+        .build();
+  }
+
+  /**
+   * Create a new builder of a circuit breaker.
+   *
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Run a call to an endpoint through a circuit of its own, any exceptional completion counting as a failure.
+   *
+   * @see CircuitBreaker#call(Object, Object, Supplier, Predicate)
+   */
+  public <T> CompletableFuture<T> call(Object key, Supplier<CompletableFuture<T>> call) {
+    return this.call(key, key, call, $ -> false);
+  }
+
+  /**
+   * Run a call to an endpoint through a circuit, any exceptional completion counting as a failure.
+   *
+   * @see CircuitBreaker#call(Object, Object, Supplier, Predicate)
+   */
+  public <T> CompletableFuture<T> call(Object key, Object endpoint, Supplier<CompletableFuture<T>> call) {
+    return this.call(key, endpoint, call, $ -> false);
+  }
+
+  /**
+   * Run a call to an endpoint through a circuit of its own.
+   *
+   * @see CircuitBreaker#call(Object, Object, Supplier, Predicate)
+   */
+  public <T> CompletableFuture<T> call(Object key, Supplier<CompletableFuture<T>> call, Predicate<T> failed) {
+    return this.call(key, key, call, failed);
+  }
+
+  /**
+   * Run a call to an endpoint through a circuit.
+   *
+   * @param key {@link Object} the circuit, such as the host of the endpoint.
+   * @param endpoint {@link Object} the endpoint, whose failure is cached.
+   * @param call {@link Supplier} the call to be run if let through.
+   * @param failed {@link Predicate} whether a result counts as a failure, on top of exceptional completions.
+   * @return {@link CompletableFuture} the future of the call, failed with {@link RejectedException} if rejected.
+   */
+  public <T> CompletableFuture<T> call(Object key, Object endpoint, Supplier<CompletableFuture<T>> call, Predicate<T> failed) {
+    if (!this.tryAcquire(key, endpoint))
+      return CompletableFuture.failedFuture(new RejectedException(endpoint));
+
+    final CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException exception) {
+      this.onFailure(key, endpoint);
+      return CompletableFuture.failedFuture(exception);
+    }
+    return future.whenComplete((result, error) -> {
+      if (error != null || failed.test(result))
+        this.onFailure(key, endpoint);
+      else
+        this.onSuccess(key);
+    });
+  }
+
+  /**
+   * Check whether a call to an endpoint is let through a circuit of its own.
+   *
+   * @see CircuitBreaker#tryAcquire(Object, Object)
+   */
+  public boolean tryAcquire(Object key) {
+    return this.tryAcquire(key, key);
+  }
+
+  /**
+   * Check whether a call to an endpoint is let through, turning an open circuit half open once it is due a trial.
+   * A call to an endpoint whose failure is cached is rejected regardless of the circuit.
+   *
+   * @param key {@link Object} the circuit.
+   * @param endpoint {@link Object} the endpoint.
+   * @return {@link Boolean} whether the call is let through - it must then be followed by its outcome.
+   */
+  public boolean tryAcquire(Object key, Object endpoint) {
+    if (failures != null && failures.getIfPresent(endpoint) != null)
+      return false;
+    final var circuit = circuits.getIfPresent(key);
+    if (circuit == null)
+      return true;
+
+    final State previous;
+    final State next;
+    synchronized (circuit) {
+      final long now = ticker.read();
+      switch (circuit.state) {
+        case CLOSED:
+          return true;
+        case HALF_OPEN:
+          // the trial never completed - open again, as if it failed
+          if (now - circuit.openedAt < openNanos)
+            return false;
+          previous = State.HALF_OPEN;
+          next = State.OPEN;
+          circuit.state = State.OPEN;
+          circuit.openedAt = now;
+          break;
+        default:
+          if (now - circuit.openedAt < openNanos)
+            return false;
+          previous = State.OPEN;
+          next = State.HALF_OPEN;
+          circuit.state = State.HALF_OPEN;
+          circuit.openedAt = now;
+      }
+    }
+    listener.onStateChange(key, previous, next);
+    return next == State.HALF_OPEN;
+  }
+
+  /**
+   * Record a successful call through a circuit, closing it.
+   *
+   * @param key {@link Object} the circuit.
+   */
+  public void onSuccess(Object key) {
+    final var circuit = circuits.getIfPresent(key);
+    if (circuit == null)
+      return;
+
+    final State previous;
+    synchronized (circuit) {
+      previous = circuit.state;
+      circuit.failures = 0;
+      circuit.state = State.CLOSED;
+    }
+    if (previous != State.CLOSED)
+      listener.onStateChange(key, previous, State.CLOSED);
+  }
+
+  /**
+   * Record a failed call to an endpoint through a circuit of its own.
+   *
+   * @see CircuitBreaker#onFailure(Object, Object)
+   */
+  public void onFailure(Object key) {
+    this.onFailure(key, key);
+  }
+
+  /**
+   * Record a failed call to an endpoint, caching its failure and opening the circuit
+   * once the threshold is reached or after a failed trial.
+   *
+   * @param key {@link Object} the circuit.
+   * @param endpoint {@link Object} the endpoint.
+   */
+  public void onFailure(Object key, Object endpoint) {
+    if (failures != null)
+      failures.put(endpoint, Boolean.TRUE);
+
+    final var circuit = circuits.get(key, $ -> new Circuit());
+    final State previous;
+    synchronized (circuit) {
+      final long now = ticker.read();
+      previous = circuit.state;
+      circuit.failures++;
+      if (previous == State.OPEN || (previous == State.CLOSED && circuit.failures < failureThreshold))
+        return;
+      circuit.state = State.OPEN;
+      circuit.openedAt = now;
+    }
+    listener.onStateChange(key, previous, State.OPEN);
+  }
+
+  /**
+   * Get the state of a circuit.
+   *
+   * @param key {@link Object} the circuit.
+   * @return {@link State}
+   */
+  public State state(Object key) {
+    final var circuit = circuits.getIfPresent(key);
+    if (circuit == null)
+      return State.CLOSED;
+    synchronized (circuit) {
+      return circuit.state;
+    }
+  }
+
+  /**
+   * Forget every circuit and cached failure, closing them all.
+   */
+  public void reset() {
+    circuits.invalidateAll();
+    if (failures != null)
+      failures.invalidateAll();
+  }
+
+  /**
+   * This class represents a circuit, guarded by its own monitor.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Circuit {
+    private State state = State.CLOSED;
+
+    /** {@link Integer} the amount of consecutive failures. **/
+    private int failures;
+
+    /** {@link Long} the time the circuit was opened at, or its trial let through at while half open. **/
+    private long openedAt;
+  }
+}
@@ -1,27 +1,45 @@
 package xyz.oliwer.placeholder.def;
 
+import xyz.oliwer.placeholder.BindingPlaceholder;
 import xyz.oliwer.placeholder.Placeholder;
 import xyz.oliwer.placeholder.data.DefaultData;
 
+import java.io.IOException;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class represents a "random of" implementation of {@link Placeholder}.
+ * Options are split once per distinct invocation.
  *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
-public final class RandomPlaceholder implements Placeholder {
-  /** @see Placeholder#parse(Object, DefaultData) **/
+public final class RandomPlaceholder implements BindingPlaceholder<String[]> {
+  /**
+   * Bind the options of an invocation.
+   *
+   * @see BindingPlaceholder#bind(DefaultData)
+   */
   @Override
-  public Object parse(Object customData, DefaultData defaultData) {
-    final var parameters = defaultData.parameters;
-    final var length = parameters.length;
-
-    if (length == 0)
-      return defaultData.origin;
+  public String[] bind(DefaultData defaultData) {
+    final var options = defaultData.parameters();
+    return options.length == 0 ? null : options;
+  }
 
+  /**
+   * Write one of the options bound.
+   *
+   * @see BindingPlaceholder#parseInto(Object, Object, DefaultData, Appendable)
+   */
+  @Override
+  public void parseInto(String[] options, Object customData, DefaultData defaultData, Appendable out) throws IOException {
     final var random = ThreadLocalRandom.current();
-    return parameters[random.nextInt(length)];
+    out.append(options[random.nextInt(options.length)]);
+  }
+
+  /** @see Placeholder#lazyParameters() **/
+  @Override
+  public boolean lazyParameters() {
+    return true;
   }
 
   /** @see Placeholder#tag() **/
@@ -29,4 +47,4 @@ public final class RandomPlaceholder implements Placeholder {
   public String tag() {
     return "random";
   }
-}
\ No newline at end of file
+}
@@ -1,58 +1,143 @@
 package xyz.oliwer.placeholder.def;
 
+import xyz.oliwer.placeholder.BindingPlaceholder;
 import xyz.oliwer.placeholder.Placeholder;
 import xyz.oliwer.placeholder.data.DefaultData;
 
+import java.io.IOException;
 import java.util.concurrent.ThreadLocalRandom;
 
-import static java.lang.Double.parseDouble;
-import static java.lang.Long.parseLong;
 import static java.lang.String.format;
 
 /**
  * This class represents a "Random Number Generator - between range" implementation of {@link Placeholder}.
+ * Bounds and the decimal format are parsed once per distinct invocation into a {@link Range}.
  *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
-public final class RangePlaceholder implements Placeholder {
-  /** @see Placeholder#parse(Object, DefaultData) **/
+public final class RangePlaceholder implements BindingPlaceholder<RangePlaceholder.Range> {
+  /**
+   * This class represents a bound invocation of {@link RangePlaceholder}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Range {
+    /** {@link Boolean} whether decimal numbers are generated, whole ones otherwise. **/
+    public final boolean decimal;
+
+    /** {@link Boolean} whether only an exclusive upper bound is set, generating from 0. **/
+    public final boolean upperOnly;
+
+    /** {@link Long} the bounds of whole numbers. **/
+    private final long minimumLong, maximumLong;
+
+    /** {@link Double} the bounds of decimal numbers. **/
+    private final double minimumDouble, maximumDouble;
+
+    /** {@link String} the format of decimal numbers, null if written as is. **/
+    private final String pattern;
+
+    private Range(boolean decimal, boolean upperOnly, long minimumLong, long maximumLong, double minimumDouble, double maximumDouble, String pattern) {
+      this.decimal = decimal;
+      this.upperOnly = upperOnly;
+      this.minimumLong = minimumLong;
+      this.maximumLong = maximumLong;
+      this.minimumDouble = minimumDouble;
+      this.maximumDouble = maximumDouble;
+      this.pattern = pattern;
+    }
+  }
+
+  /**
+   * Bind the kind, bounds and format of an invocation.
+   * Malformed numbers and empty ranges are rejected here, rendering the origin as is.
+   *
+   * @see BindingPlaceholder#bind(DefaultData)
+   */
   @Override
-  public Object parse(Object $, DefaultData defaultData) {
-    // necessities
-    final var origin = defaultData.origin;
-    final var parameters = defaultData.parameters;
+  public Range bind(DefaultData defaultData) {
+    final var length = defaultData.parameterCount();
+    if (length < 2)
+      return null;
 
-    // work
     try {
-      final var length = parameters.length;
-      if (length == 0 || length == 1)
-        return origin;
-
-      final var random = ThreadLocalRandom.current();
-      final var type = parameters[0];
-
-      switch (type) {
-        // int, long etc
-        case "single": {
-          final var minimumValue = parseLong(parameters[1]);
-          if (length == 2)
-            return random.nextLong(minimumValue);
-          return random.nextLong(minimumValue, parseLong(parameters[2]));
-        }
-        // double, float etc
-        case "decimal": {
-          final var minimumValue = parseDouble(parameters[1]);
-          if (length == 2)
-            return random.nextDouble(minimumValue);
-
-          final var value = random.nextDouble(minimumValue, parseDouble(parameters[2]));
-          return length == 4 ? format(format("%%.%sf", parameters[3]), value) : value;
-        }
+      // int, long etc
+      if (defaultData.parameterEquals(0, "single")) {
+        final var minimumValue = defaultData.parseLongParameter(1);
+        if (length == 2)
+          return minimumValue > 0 ? new Range(false, true, 0, minimumValue, 0, 0, null) : null;
+        final var maximumValue = defaultData.parseLongParameter(2);
+        return minimumValue < maximumValue ? new Range(false, false, minimumValue, maximumValue, 0, 0, null) : null;
+      }
+
+      // double, float etc
+      if (defaultData.parameterEquals(0, "decimal")) {
+        final var minimumValue = defaultData.parseDoubleParameter(1);
+        final var pattern = length == 4 ? pattern(defaultData.parameter(3).toString()) : null;
+        if (length == 4 && pattern == null)
+          return null;
+        if (length == 2)
+          return minimumValue > 0 && Double.isFinite(minimumValue) ? new Range(true, true, 0, 0, 0, minimumValue, pattern) : null;
+        final var maximumValue = defaultData.parseDoubleParameter(2);
+        return minimumValue < maximumValue && Double.isFinite(maximumValue - minimumValue)
+          ? new Range(true, false, 0, 0, minimumValue, maximumValue, pattern)
+          : null;
       }
     } catch (NumberFormatException ignored) {}
+    return null;
+  }
 
-    // return the (processed?) origin
-    return origin;
+  /**
+   * Write the generated number straight into the appendable, without boxing it first.
+   *
+   * @see BindingPlaceholder#parseInto(Object, Object, DefaultData, Appendable)
+   */
+  @Override
+  public void parseInto(Range range, Object $, DefaultData defaultData, Appendable out) throws IOException {
+    final var random = ThreadLocalRandom.current();
+
+    // int, long etc
+    if (!range.decimal) {
+      final var value = range.upperOnly
+        ? random.nextLong(range.maximumLong)
+        : random.nextLong(range.minimumLong, range.maximumLong);
+      if (out instanceof StringBuilder)
+        ((StringBuilder) out).append(value);
+      else
+        out.append(Long.toString(value));
+      return;
+    }
+
+    // double, float etc
+    final var value = range.upperOnly
+      ? random.nextDouble(range.maximumDouble)
+      : random.nextDouble(range.minimumDouble, range.maximumDouble);
+    if (range.pattern != null)
+      out.append(format(range.pattern, value));
+    else if (out instanceof StringBuilder)
+      ((StringBuilder) out).append(value);
+    else
+      out.append(Double.toString(value));
+  }
+
+  /**
+   * Create the format pattern of a precision.
+   *
+   * @return {@link String} the pattern, or null if the precision is malformed.
+   */
+  private static String pattern(String precision) {
+    try {
+      final var digits = Integer.parseInt(precision);
+      return digits < 0 ? null : "%." + digits + 'f';
+    } catch (NumberFormatException ignored) {
+      return null;
+    }
+  }
+
+  /** @see Placeholder#lazyParameters() **/
+  @Override
+  public boolean lazyParameters() {
+    return true;
   }
 
   /** @see Placeholder#tag() **/
@@ -60,4 +145,4 @@ public final class RangePlaceholder implements Placeholder {
   public String tag() {
     return "range";
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,472 @@
+package xyz.oliwer.placeholder.def;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * This class represents the persistent second tier of the response cache of {@link ApiPlaceholder},
+ * an append-only file of raw response bodies keyed by endpoint, stamped with the time they were fetched.
+ * <p>
+ * Every record carries a CRC32 of its content. The file is indexed on first access, stopping at the first
+ * record failing its check - a write torn by a crash is truncated away instead of being read.
+ * Records superseded or expired are dropped by rewriting the file aside and moving it over atomically.
+ * <p>
+ * Indexing, appends and compactions run on a single thread of the store, never on the threads of callers.
+ * Reads only hold the monitor to find their record, so they proceed while the store thread appends or compacts.
+ * Failing to read or write the file never fails a render, the store is then merely skipped.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+final class ResponseStore implements Closeable {
+  /** {@link Integer} the magic opening every record. **/
+  private static final int MAGIC = 0x52535431;
+
+  /** {@link Integer} the size of a record header - magic, checksum, timestamp, key length and body length. **/
+  private static final int HEADER = 24;
+
+  /** {@link Integer} the offset of the checksummed content of a record. **/
+  private static final int CHECKSUMMED = 8;
+
+  /** {@link Long} the amount of dead bytes tolerated before compacting, regardless of the live ones. **/
+  private static final long COMPACTION_THRESHOLD = 1 << 20;
+
+  private final Path file;
+  private final long ttlMillis;
+
+  /** {@link ExecutorService} the thread of every write to the file. **/
+  private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+    final var thread = new Thread(runnable, "api-placeholder-store");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /** {@link Map} the live record of every key, guarded by this instance. **/
+  private final Map<String, Entry> index = new HashMap<>();
+
+  /** {@link CompletableFuture} the indexing of the file, null until first accessed. **/
+  private CompletableFuture<Void> indexed;
+
+  /** {@link FileChannel} the channel of the file, null until indexed. **/
+  private FileChannel channel;
+
+  /** {@link Long} the end of the last valid record, where the next one is appended. **/
+  private long size;
+
+  /** {@link Long} the amount of bytes of live records. **/
+  private long live;
+
+  private boolean closed;
+
+  /**
+   * Primary constructor, the file being indexed lazily.
+   *
+   * @param file {@link Path} the file of the store, created if absent.
+   * @param ttl {@link Duration} how long a response is served for after being fetched.
+   */
+  ResponseStore(Path file, Duration ttl) {
+    this.file = file;
+    this.ttlMillis = ttl.toMillis();
+  }
+
+  /**
+   * Read the stored response of a key once the file is indexed.
+   *
+   * @param key {@link String} the key of the endpoint.
+   * @param executor {@link Executor} the executor to read on.
+   * @return {@link CompletableFuture} the response, or null if absent, expired or unreadable.
+   */
+  CompletableFuture<Stored> get(String key, Executor executor) {
+    return this.indexed().thenApplyAsync($ -> this.read(key), executor);
+  }
+
+  /**
+   * Append the response of a key in the background, superseding the previous one.
+   *
+   * @param key {@link String} the key of the endpoint.
+   * @param body {@link Byte} array of the raw response body.
+   * @param writtenAt {@link Long} the epoch millisecond the response was fetched at.
+   */
+  void put(String key, byte[] body, long writtenAt) {
+    this.write(() -> this.append(key, body, writtenAt));
+  }
+
+  /**
+   * Drop the response of a key in the background, so it is not read again - after a restart either.
+   *
+   * @param key {@link String} the key of the endpoint.
+   */
+  void remove(String key) {
+    // an empty record written at the epoch has always expired
+    this.write(() -> this.append(key, new byte[0], 0L));
+  }
+
+  /**
+   * Close the file once every pending write is done, the store is skipped afterwards.
+   */
+  @Override
+  public void close() {
+    try {
+      writer.execute(this::release);
+      writer.shutdown();
+      writer.awaitTermination(5, SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ignored) {}
+    this.release();
+  }
+
+  /**
+   * Get the indexing of the file, starting it on the store thread on first access.
+   */
+  private synchronized CompletableFuture<Void> indexed() {
+    if (indexed != null)
+      return indexed;
+    try {
+      return indexed = CompletableFuture.runAsync(() -> {
+        try {
+          this.open();
+        } catch (IOException ignored) {}
+      }, writer);
+    } catch (RuntimeException closed) {
+      // rejected by a closed store, leaving every key absent
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  /**
+   * Run a write on the store thread once the file is indexed.
+   */
+  private void write(IoTask task) {
+    try {
+      this.indexed().thenRunAsync(() -> {
+        try {
+          task.run();
+        } catch (IOException ignored) {}
+      }, writer);
+    } catch (RuntimeException ignored) {}
+  }
+
+  /**
+   * Read the stored response of a key, only holding the monitor to find its record.
+   */
+  private Stored read(String key) {
+    final FileChannel channel;
+    final long offset;
+    final int length;
+    final long writtenAt;
+    synchronized (this) {
+      final var entry = index.get(key);
+      if (entry == null || this.channel == null)
+        return null;
+      if (this.isExpired(entry, System.currentTimeMillis())) {
+        this.forget(key);
+        return null;
+      }
+      channel = this.channel;
+      offset = entry.offset + entry.length - entry.bodyLength;
+      length = entry.bodyLength;
+      writtenAt = entry.writtenAt;
+    }
+
+    // a channel swapped by a compaction meanwhile is closed, failing the read
+    try {
+      final var body = ByteBuffer.allocate(length);
+      readFully(channel, body, offset);
+      return new Stored(body.array(), writtenAt);
+    } catch (IOException ignored) {
+      return null;
+    }
+  }
+
+  /**
+   * Append a record on the store thread, compacting once dead records outweigh live ones.
+   */
+  private void append(String key, byte[] body, long writtenAt) throws IOException {
+    // build the record, checksumming everything following the checksum itself
+    final var keyBytes = key.getBytes(UTF_8);
+    final var record = ByteBuffer.allocate(HEADER + keyBytes.length + body.length);
+    record
+      .putInt(MAGIC)
+      .putInt(0)
+      .putLong(writtenAt)
+      .putInt(keyBytes.length)
+      .putInt(body.length)
+      .put(keyBytes)
+      .put(body);
+    final var checksum = new CRC32();
+    checksum.update(record.array(), CHECKSUMMED, record.capacity() - CHECKSUMMED);
+    record.putInt(4, (int) checksum.getValue());
+
+    // reserve the end of the file, appends only ever running on the store thread
+    final FileChannel channel;
+    final long offset;
+    synchronized (this) {
+      if (this.channel == null)
+        return;
+      channel = this.channel;
+      offset = size;
+      size += record.capacity();
+    }
+
+    // append without the monitor, so reads proceed - a failed write hands the reservation back,
+    // so the next record overwrites it
+    record.flip();
+    try {
+      while (record.hasRemaining())
+        channel.write(record, offset + record.position());
+    } catch (IOException exception) {
+      synchronized (this) {
+        if (this.channel == channel && size == offset + record.capacity())
+          size = offset;
+      }
+      throw exception;
+    }
+
+    final boolean compact;
+    synchronized (this) {
+      if (this.channel != channel)
+        return;
+      this.forget(key);
+      final var entry = new Entry(offset, record.capacity(), body.length, writtenAt);
+      if (!this.isExpired(entry, System.currentTimeMillis()))
+        this.index(key, entry);
+      compact = size - live > Math.max(live, COMPACTION_THRESHOLD);
+    }
+    if (compact)
+      this.compact();
+  }
+
+  /**
+   * Open and index the file on the store thread.
+   */
+  private void open() throws IOException {
+    final var parent = file.toAbsolutePath().getParent();
+    if (parent != null)
+      Files.createDirectories(parent);
+    final var channel = FileChannel.open(file, CREATE, READ, WRITE);
+
+    // index every valid record, stopping at the first torn or corrupt one
+    final var index = new HashMap<String, Entry>();
+    final long length = channel.size();
+    final var header = ByteBuffer.allocate(HEADER);
+    long position = 0;
+    while (position + HEADER <= length) {
+      header.clear();
+      readFully(channel, header, position);
+      header.flip();
+      if (header.getInt() != MAGIC)
+        break;
+      final int crc = header.getInt();
+      final long writtenAt = header.getLong();
+      final int keyLength = header.getInt();
+      final int bodyLength = header.getInt();
+      if (keyLength < 0 || bodyLength < 0 || position + HEADER + (long) keyLength + bodyLength > length)
+        break;
+
+      final var content = ByteBuffer.allocate(keyLength + bodyLength);
+      readFully(channel, content, position + HEADER);
+      final var checksum = new CRC32();
+      checksum.update(header.array(), CHECKSUMMED, HEADER - CHECKSUMMED);
+      checksum.update(content.array());
+      if ((int) checksum.getValue() != crc)
+        break;
+
+      final var key = new String(content.array(), 0, keyLength, UTF_8);
+      index.put(key, new Entry(position, HEADER + keyLength + bodyLength, bodyLength, writtenAt));
+      position += HEADER + keyLength + bodyLength;
+    }
+
+    // drop the torn tail, if any
+    if (position < length)
+      channel.truncate(position);
+
+    // keep the records still live
+    final boolean compact;
+    synchronized (this) {
+      if (closed) {
+        channel.close();
+        return;
+      }
+      this.channel = channel;
+      this.size = position;
+      final long now = System.currentTimeMillis();
+      index.forEach((key, entry) -> {
+        if (!this.isExpired(entry, now))
+          this.index(key, entry);
+      });
+      compact = size - live > live;
+    }
+    if (compact)
+      this.compact();
+  }
+
+  /**
+   * Rewrite the live records aside on the store thread, then move them over the file atomically.
+   * Nothing is appended meanwhile, as appends run on the same thread, and reads only wait for the swap.
+   */
+  private void compact() throws IOException {
+    // snapshot the live records
+    final FileChannel channel;
+    final String[] keys;
+    final Entry[] entries;
+    synchronized (this) {
+      if (this.channel == null)
+        return;
+      channel = this.channel;
+      keys = index.keySet().toArray(new String[0]);
+      entries = new Entry[keys.length];
+      for (int index = 0; index < keys.length; index++)
+        entries[index] = this.index.get(keys[index]);
+    }
+
+    // copy them aside
+    final var temporary = file.resolveSibling(file.getFileName() + ".compact");
+    final var offsets = new long[entries.length];
+    long position = 0;
+    try (final var out = FileChannel.open(temporary, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      for (int index = 0; index < entries.length; index++) {
+        final var entry = entries[index];
+        for (long copied = 0; copied < entry.length; )
+          copied += channel.transferTo(entry.offset + copied, entry.length - copied, out);
+        offsets[index] = position;
+        position += entry.length;
+      }
+      out.force(true);
+    }
+
+    // swap the files, then the offsets of the records still live
+    synchronized (this) {
+      if (this.channel != channel)
+        return;
+      channel.close();
+      this.channel = null;
+      Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+      this.channel = FileChannel.open(file, READ, WRITE);
+      live = 0;
+      for (int index = 0; index < entries.length; index++) {
+        entries[index].offset = offsets[index];
+        if (this.index.get(keys[index]) == entries[index])
+          live += entries[index].length;
+      }
+      size = position;
+    }
+  }
+
+  /**
+   * Close the channel, skipping the store from now on.
+   */
+  private synchronized void release() {
+    closed = true;
+    index.clear();
+    live = 0;
+    if (channel == null)
+      return;
+    try {
+      channel.close();
+    } catch (IOException ignored) {}
+    channel = null;
+  }
+
+  /**
+   * Index a live record.
+   */
+  private void index(String key, Entry entry) {
+    index.put(key, entry);
+    live += entry.length;
+  }
+
+  /**
+   * Forget the live record of a key, if any.
+   */
+  private void forget(String key) {
+    final var entry = index.remove(key);
+    if (entry != null)
+      live -= entry.length;
+  }
+
+  /**
+   * Check whether a record has outlived the lifetime of a response.
+   */
+  private boolean isExpired(Entry entry, long now) {
+    return now - entry.writtenAt >= ttlMillis;
+  }
+
+  /**
+   * Read a buffer whole from a position of a channel.
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0)
+        throw new EOFException();
+    }
+  }
+
+  /**
+   * This interface represents a task of the store thread.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  @FunctionalInterface
+  private interface IoTask {
+    void run() throws IOException;
+  }
+
+  /**
+   * This class represents a response read from {@link ResponseStore}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  static final class Stored {
+    /** {@link Byte} array of the raw response body. **/
+    final byte[] body;
+
+    /** {@link Long} the epoch millisecond the response was fetched at. **/
+    final long writtenAt;
+
+    private Stored(byte[] body, long writtenAt) {
+      this.body = body;
+      this.writtenAt = writtenAt;
+    }
+  }
+
+  /**
+   * This class represents the location of a record in the file.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Entry {
+    private long offset;
+    private final int length;
+    private final int bodyLength;
+    private final long writtenAt;
+
+    private Entry(long offset, int length, int bodyLength, long writtenAt) {
+      this.offset = offset;
+      this.length = length;
+      this.bodyLength = bodyLength;
+      this.writtenAt = writtenAt;
+    }
+  }
+}
@@ -3,8 +3,11 @@ package xyz.oliwer.placeholder.json;
 /**
  * This interface represents the base of "deserialized object" implementations
  * used in placeholders such as {@link xyz.oliwer.placeholder.def.ApiPlaceholder}.
+ * Implementations must be immutable - navigation returns a new cursor and never changes the instance
+ * navigated from, so a cached instance may be shared across threads without copying or locking.
  *
  * @see xyz.oliwer.placeholder.json.impl.JsoniterDeserialized
+ * @see JsonPath
  * @author Oliwer - https://www.github.com/ImOliwer
  */
 public interface Deserialized {
@@ -26,8 +29,11 @@ public interface Deserialized {
 
   /**
    * Create a copy of this instance.
+   * As instances are immutable, this is the very same instance by default.
    *
    * @return {@link Deserialized}
    */
-  Deserialized copy();
-}
\ No newline at end of file
+  default Deserialized copy() {
+    return this;
+  }
+}
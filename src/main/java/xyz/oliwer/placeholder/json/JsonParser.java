@@ -1,5 +1,13 @@
 package xyz.oliwer.placeholder.json;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * This interface represents the base for every JSON parser implementation
  * used in some placeholders such as {@link xyz.oliwer.placeholder.def.ApiPlaceholder}.
@@ -23,4 +31,35 @@ public interface JsonParser {
    * @return {@link String}
    */
   String serialize(Object object);
-}
\ No newline at end of file
+
+  /**
+   * Extract the values of the paths passed from UTF-8 encoded JSON content.
+   * Values are rendered as {@link Deserialized#toString()} would render them, and paths not found may be left out.
+   * By default, the whole content is deserialized - implementations should override this
+   * to pull out the requested values in a single pass, skipping everything else.
+   *
+   * @param content {@link Byte} array of the content.
+   * @param paths {@link Collection} the paths to be extracted.
+   * @return {@link Map} the values by path.
+   */
+  default Map<JsonPath, String> extract(byte[] content, Collection<JsonPath> paths) {
+    final var root = this.deserialize(new String(content, UTF_8));
+    final var values = new HashMap<JsonPath, String>();
+    for (final JsonPath path : paths)
+      values.put(path, path.resolve(root).toString());
+    return values;
+  }
+
+  /**
+   * Extract the values of the paths passed from a stream of UTF-8 encoded JSON content.
+   *
+   * @param in {@link InputStream} the stream of the content.
+   * @param paths {@link Collection} the paths to be extracted.
+   * @return {@link Map} the values by path.
+   * @throws IOException if the stream fails to be read.
+   * @see JsonParser#extract(byte[], Collection)
+   */
+  default Map<JsonPath, String> extract(InputStream in, Collection<JsonPath> paths) throws IOException {
+    return this.extract(in.readAllBytes(), paths);
+  }
+}
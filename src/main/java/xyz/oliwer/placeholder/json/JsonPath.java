@@ -0,0 +1,97 @@
+package xyz.oliwer.placeholder.json;
+
+/**
+ * This class represents a compiled path into a {@link Deserialized} hierarchy,
+ * such as <b>users.[0].name</b>, where <b>[index]</b> selects an array element
+ * and any other segment a key. A path is parsed once and may be shared across threads.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class JsonPath {
+  /** {@link String} the path this instance was compiled from. **/
+  public final String path;
+
+  /** {@link Object} array of segments in order, a {@link String} key or an {@link Integer} index each. **/
+  private final Object[] segments;
+
+  private JsonPath(String path, Object[] segments) {
+    this.path = path;
+    this.segments = segments;
+  }
+
+  /**
+   * Compile a dotted path, a blank one selecting the root itself.
+   *
+   * @param path {@link String} the path to be compiled.
+   * @return {@link JsonPath}
+   * @throws NumberFormatException if an index segment is no valid integer.
+   */
+  public static JsonPath compile(String path) {
+    // ensure the presence
+    if (path == null)
+      throw new NullPointerException("path must NOT be null");
+
+    // the root itself
+    final var parts = path.split("\\.");
+    if (parts.length == 0 || parts.length == 1 && parts[0].isBlank())
+      return new JsonPath(path, new Object[0]);
+
+    // parse every segment
+    final var segments = new Object[parts.length];
+    for (int index = 0; index < parts.length; index++) {
+      final var part = parts[index];
+      final int length = part.length();
+      segments[index] = length >= 3 && part.charAt(0) == '[' && part.charAt(length - 1) == ']'
+        ? (Object) Integer.parseInt(part, 1, length - 1, 10)
+        : part;
+    }
+    return new JsonPath(path, segments);
+  }
+
+  /**
+   * Navigate from the root passed along this path.
+   *
+   * @param root {@link Deserialized} the root to navigate from.
+   * @return {@link Deserialized} the element at the end of this path.
+   */
+  public Deserialized resolve(Deserialized root) {
+    var next = root;
+    for (final Object segment : segments)
+      next = segment instanceof Integer ? next.get((int) segment) : next.get((String) segment);
+    return next;
+  }
+
+  /**
+   * Get the amount of segments of this path.
+   *
+   * @return {@link Integer}
+   */
+  public int size() {
+    return segments.length;
+  }
+
+  /**
+   * Get a segment of this path.
+   *
+   * @param index {@link Integer} the index of the segment.
+   * @return {@link Object} a {@link String} key or an {@link Integer} array index.
+   */
+  public Object segment(int index) {
+    return segments[index];
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof JsonPath && ((JsonPath) other).path.equals(path);
+  }
+
+  @Override
+  public int hashCode() {
+    return path.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.path;
+  }
+}
@@ -5,38 +5,64 @@ import com.jsoniter.any.Any;
 import xyz.oliwer.placeholder.json.Deserialized;
 
 /**
+ * This class represents the immutable jsoniter implementation of {@link Deserialized}.
+ * Lazy {@link Any} instances fill their caches on first read, hence a tree deserialized here is
+ * read through completely before being published - afterwards every navigation only reads.
+ *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
 public final class JsoniterDeserialized implements Deserialized {
-  private Any content;
+  private final Any content;
 
   public JsoniterDeserialized(String content) {
-    this.content = JsonIterator.deserialize(content);
+    this.content = fill(JsonIterator.deserialize(content));
   }
 
+  /**
+   * @param content {@link Any} the content, which must not be read by other threads while being filled.
+   */
   public JsoniterDeserialized(Any content) {
-    this.content = content;
+    this.content = fill(content);
   }
 
-  @Override
-  public synchronized Deserialized get(int index) {
-    this.content = content.get(index);
-    return this;
+  /**
+   * Cursor constructor, the content being part of an already filled tree.
+   */
+  private JsoniterDeserialized(Any content, boolean $) {
+    this.content = content;
   }
 
   @Override
-  public synchronized Deserialized get(String key) {
-    this.content = content.get(key);
-    return this;
+  public Deserialized get(int index) {
+    return new JsoniterDeserialized(content.get(index), true);
   }
 
   @Override
-  public synchronized Deserialized copy() {
-    return new JsoniterDeserialized(this.content);
+  public Deserialized get(String key) {
+    return new JsoniterDeserialized(content.get(key), true);
   }
 
   @Override
-  public synchronized String toString() {
+  public String toString() {
     return content.toString();
   }
-}
\ No newline at end of file
+
+  /**
+   * Read through the whole tree, filling the cache of every lazy element.
+   */
+  private static Any fill(Any any) {
+    switch (any.valueType()) {
+      case OBJECT:
+        for (final Any value : any.asMap().values())
+          fill(value);
+        break;
+      case ARRAY:
+        for (final Any value : any)
+          fill(value);
+        break;
+      default:
+        any.toString();
+    }
+    return any;
+  }
+}
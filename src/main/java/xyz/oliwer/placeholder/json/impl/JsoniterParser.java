@@ -1,8 +1,17 @@
 package xyz.oliwer.placeholder.json.impl;
 
+import com.jsoniter.JsonIterator;
 import com.jsoniter.output.JsonStream;
 import xyz.oliwer.placeholder.json.Deserialized;
 import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.json.JsonPath;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Oliwer - https://www.github.com/ImOliwer
@@ -17,4 +26,149 @@ public final class JsoniterParser implements JsonParser {
   public String serialize(Object object) {
     return JsonStream.serialize(object);
   }
-}
\ No newline at end of file
+
+  /**
+   * Walk the content once along the paths passed, skipping every value off their way.
+   *
+   * @see JsonParser#extract(byte[], Collection)
+   */
+  @Override
+  public Map<JsonPath, String> extract(byte[] content, Collection<JsonPath> paths) {
+    try {
+      return extract(JsonIterator.parse(content), paths);
+    } catch (IOException exception) {
+      throw new IllegalArgumentException("malformed json content", exception);
+    }
+  }
+
+  /**
+   * Extract the paths passed from an iterator.
+   */
+  private static Map<JsonPath, String> extract(JsonIterator iterator, Collection<JsonPath> paths) throws IOException {
+    // build the trie of every path
+    final var root = new Node();
+    for (final JsonPath path : paths) {
+      var node = root;
+      for (int index = 0; index < path.size(); index++)
+        node = node.child(path.segment(index));
+      node.paths.add(path);
+    }
+
+    // walk
+    final var values = new HashMap<JsonPath, String>();
+    walk(iterator, root, values, paths.size());
+    return values;
+  }
+
+  /**
+   * Walk the value under the iterator along a node.
+   *
+   * @return {@link Integer} the amount of paths left to be found.
+   */
+  private static int walk(JsonIterator iterator, Node node, Map<JsonPath, String> values, int remaining) throws IOException {
+    // a path ends here - read the value whole, resolving any deeper path from it
+    if (!node.paths.isEmpty()) {
+      final var value = iterator.readAny();
+      final int depth = node.paths.get(0).size();
+      for (final JsonPath path : node.paths) {
+        values.put(path, value.toString());
+        remaining--;
+      }
+      for (final JsonPath path : node.deeper()) {
+        var next = value;
+        for (int index = depth; index < path.size(); index++) {
+          final var segment = path.segment(index);
+          next = segment instanceof Integer ? next.get((int) segment) : next.get(segment);
+        }
+        values.put(path, next.toString());
+        remaining--;
+      }
+      return remaining;
+    }
+
+    // descend into the children on the way, skipping every other one
+    switch (iterator.whatIsNext()) {
+      case OBJECT:
+        for (String field = iterator.readObject(); field != null; field = iterator.readObject()) {
+          final var child = node.keys == null ? null : node.keys.get(field);
+          if (child == null) {
+            iterator.skip();
+            continue;
+          }
+          remaining = walk(iterator, child, values, remaining);
+          if (remaining == 0)
+            return 0;
+        }
+        return remaining;
+      case ARRAY:
+        for (int index = 0; iterator.readArray(); index++) {
+          final var child = node.indices == null ? null : node.indices.get(index);
+          if (child == null) {
+            iterator.skip();
+            continue;
+          }
+          remaining = walk(iterator, child, values, remaining);
+          if (remaining == 0)
+            return 0;
+        }
+        return remaining;
+      default:
+        iterator.skip();
+        return remaining;
+    }
+  }
+
+  /**
+   * This class represents a node of the trie of extracted paths.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Node {
+    /** {@link List} the paths ending at this node. **/
+    private final List<JsonPath> paths = new ArrayList<>(1);
+
+    private Map<String, Node> keys;
+    private Map<Integer, Node> indices;
+
+    /**
+     * Get or create the child of a segment.
+     */
+    private Node child(Object segment) {
+      if (segment instanceof Integer) {
+        if (indices == null)
+          indices = new HashMap<>();
+        return indices.computeIfAbsent((Integer) segment, $ -> new Node());
+      }
+      if (keys == null)
+        keys = new HashMap<>();
+      return keys.computeIfAbsent((String) segment, $ -> new Node());
+    }
+
+    /**
+     * Get every path ending below this node.
+     */
+    private List<JsonPath> deeper() {
+      final var deeper = new ArrayList<JsonPath>();
+      if (keys != null)
+        for (final Node child : keys.values())
+          child.collect(deeper);
+      if (indices != null)
+        for (final Node child : indices.values())
+          child.collect(deeper);
+      return deeper;
+    }
+
+    /**
+     * Collect every path ending at or below this node.
+     */
+    private void collect(List<JsonPath> into) {
+      into.addAll(paths);
+      if (keys != null)
+        for (final Node child : keys.values())
+          child.collect(into);
+      if (indices != null)
+        for (final Node child : indices.values())
+          child.collect(into);
+    }
+  }
+}
@@ -0,0 +1,450 @@
+package xyz.oliwer.placeholder.json.impl;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This class represents the structural index of UTF-8 encoded JSON content, built in a single pass.
+ * Every value is an entry of {@link Tape#WIDTH} primitive ints on the tape - its type, the byte range it spans,
+ * and the entry following it, so containers are skipped in one jump. Members of an object are laid out as
+ * key and value entries in turn, elements of an array as value entries. Nothing is materialized until read.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+final class Tape {
+  /** {@link Integer} the amount of ints per entry. **/
+  static final int WIDTH = 4;
+
+  // types
+  static final int OBJECT = 0;
+  static final int ARRAY = 1;
+  static final int STRING = 2;
+  static final int NUMBER = 3;
+  static final int LITERAL = 4;
+
+  /** {@link Integer} the flag of a string holding escape sequences. **/
+  static final int ESCAPED = 1 << 8;
+
+  // offsets within an entry
+  private static final int TYPE = 0;
+  private static final int START = 1;
+  private static final int END = 2;
+  private static final int NEXT = 3;
+
+  /** {@link Byte} array of the content. **/
+  final byte[] json;
+
+  /** {@link Integer} array of entries. **/
+  private final int[] entries;
+
+  private Tape(byte[] json, int[] entries) {
+    this.json = json;
+    this.entries = entries;
+  }
+
+  /**
+   * Index the content passed.
+   *
+   * @param json {@link Byte} array of UTF-8 encoded JSON content.
+   * @return {@link Tape}
+   * @throws IllegalArgumentException if the content is malformed.
+   */
+  static Tape parse(byte[] json) {
+    return new Indexer(json).index();
+  }
+
+  /**
+   * Get the type of an entry, without flags.
+   */
+  int type(int entry) {
+    return entries[entry * WIDTH + TYPE] & 0xFF;
+  }
+
+  /**
+   * Get the first byte of an entry - the first character inside the quotes of a string.
+   */
+  int start(int entry) {
+    return entries[entry * WIDTH + START];
+  }
+
+  /**
+   * Get the byte following an entry - the closing quote of a string.
+   */
+  int end(int entry) {
+    return entries[entry * WIDTH + END];
+  }
+
+  /**
+   * Get the entry following an entry and all of its children.
+   */
+  int next(int entry) {
+    return entries[entry * WIDTH + NEXT];
+  }
+
+  /**
+   * Find the value of a key in an object entry.
+   *
+   * @return {@link Integer} the value entry, or -1 if not found.
+   */
+  int member(int entry, String key) {
+    if (type(entry) != OBJECT)
+      return -1;
+    final int end = next(entry);
+    for (int child = entry + 1; child < end; child = next(child + 1)) {
+      if (this.keyEquals(child, key))
+        return child + 1;
+    }
+    return -1;
+  }
+
+  /**
+   * Find an element of an array entry.
+   *
+   * @return {@link Integer} the element entry, or -1 if not found.
+   */
+  int element(int entry, int index) {
+    if (type(entry) != ARRAY || index < 0)
+      return -1;
+    final int end = next(entry);
+    int child = entry + 1;
+    for (int skipped = 0; skipped < index && child < end; skipped++)
+      child = next(child);
+    return child < end ? child : -1;
+  }
+
+  /**
+   * Render an entry - strings decoded, any other value as its raw text.
+   */
+  String text(int entry) {
+    final int start = start(entry);
+    final int end = end(entry);
+    if (type(entry) != STRING)
+      return new String(json, start, end - start, UTF_8);
+    if ((entries[entry * WIDTH + TYPE] & ESCAPED) == 0)
+      return new String(json, start, end - start, UTF_8);
+    return this.unescape(start, end);
+  }
+
+  /**
+   * Compare a key entry to a string without materializing it.
+   */
+  private boolean keyEquals(int entry, String key) {
+    if ((entries[entry * WIDTH + TYPE] & ESCAPED) != 0)
+      return this.text(entry).equals(key);
+
+    // compare ascii keys in place, any other one through its encoding
+    final int start = start(entry);
+    final int length = end(entry) - start;
+    final int keyLength = key.length();
+    boolean ascii = true;
+    for (int index = 0; index < keyLength && ascii; index++)
+      ascii = key.charAt(index) < 0x80;
+    if (!ascii) {
+      final var encoded = key.getBytes(UTF_8);
+      return Arrays.equals(json, start, start + length, encoded, 0, encoded.length);
+    }
+    if (length != keyLength)
+      return false;
+    for (int index = 0; index < length; index++)
+      if (json[start + index] != key.charAt(index))
+        return false;
+    return true;
+  }
+
+  /**
+   * Decode a string holding escape sequences.
+   */
+  private String unescape(int start, int end) {
+    final var builder = new StringBuilder(end - start);
+    int run = start;
+    for (int index = start; index < end; index++) {
+      if (json[index] != '\\')
+        continue;
+
+      // flush the run before the escape sequence
+      builder.append(new String(json, run, index - run, UTF_8));
+      final byte escaped = json[++index];
+      switch (escaped) {
+        case 'b': builder.append('\b'); break;
+        case 'f': builder.append('\f'); break;
+        case 'n': builder.append('\n'); break;
+        case 'r': builder.append('\r'); break;
+        case 't': builder.append('\t'); break;
+        case 'u':
+          builder.append((char) Integer.parseInt(new String(json, index + 1, 4, UTF_8), 16));
+          index += 4;
+          break;
+        default: builder.append((char) escaped);
+      }
+      run = index + 1;
+    }
+    return builder.append(new String(json, run, end - run, UTF_8)).toString();
+  }
+
+  /**
+   * This class represents the single pass indexer of a {@link Tape}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Indexer {
+    private final byte[] json;
+    private int[] entries;
+    private int size;
+    private int position;
+
+    /** {@link Integer} array of the open containers, innermost last. **/
+    private int[] open = new int[16];
+    private int depth;
+
+    private Indexer(byte[] json) {
+      this.json = json;
+      this.entries = new int[16 * WIDTH];
+    }
+
+    /**
+     * Index the whole content.
+     */
+    private Tape index() {
+      this.value();
+      while (depth > 0) {
+        // a value was read inside a container - expect a separator or its end
+        final int container = open[depth - 1];
+        final boolean object = entries[container * WIDTH + TYPE] == OBJECT;
+        final byte next = this.skipWhitespace();
+        if (next == ',') {
+          position++;
+          if (object)
+            this.key();
+          this.value();
+          continue;
+        }
+        if (next != (object ? '}' : ']'))
+          throw this.malformed();
+        position++;
+        this.close(container);
+      }
+
+      // nothing may follow the root
+      if (this.skipWhitespace() != 0)
+        throw this.malformed();
+      return new Tape(json, Arrays.copyOf(entries, size * WIDTH));
+    }
+
+    /**
+     * Read a value, opening it if a container.
+     */
+    private void value() {
+      final byte next = this.skipWhitespace();
+      switch (next) {
+        case '{':
+        case '[': {
+          final int entry = this.add(next == '{' ? OBJECT : ARRAY, position, 0);
+          position++;
+          final byte first = this.skipWhitespace();
+          if (first == (next == '{' ? '}' : ']')) {
+            position++;
+            this.finish(entry);
+            return;
+          }
+
+          // push
+          if (depth == open.length)
+            open = Arrays.copyOf(open, depth * 2);
+          open[depth++] = entry;
+          if (next == '{')
+            this.key();
+          this.value();
+          return;
+        }
+        case '"':
+          this.string();
+          return;
+        case 't':
+          this.literal("true");
+          return;
+        case 'f':
+          this.literal("false");
+          return;
+        case 'n':
+          this.literal("null");
+          return;
+        default:
+          this.number();
+      }
+    }
+
+    /**
+     * Read a key and its colon.
+     */
+    private void key() {
+      if (this.skipWhitespace() != '"')
+        throw this.malformed();
+      this.string();
+      if (this.skipWhitespace() != ':')
+        throw this.malformed();
+      position++;
+    }
+
+    /**
+     * Read a string, the quote being under the position.
+     */
+    private void string() {
+      final int start = ++position;
+      int flags = 0;
+      while (true) {
+        if (position >= json.length)
+          throw this.malformed();
+        final byte next = json[position];
+        if (next == '"')
+          break;
+        if (next == '\\') {
+          flags = ESCAPED;
+          this.escape();
+          continue;
+        }
+        if ((next & 0xFF) < 0x20)
+          throw this.malformed();
+        position++;
+      }
+      final int entry = this.add(STRING | flags, start, position);
+      position++;
+      this.finish(entry);
+    }
+
+    /**
+     * Skip an escape sequence, the backslash being under the position.
+     */
+    private void escape() {
+      if (++position >= json.length)
+        throw this.malformed();
+      switch (json[position]) {
+        case '"':
+        case '\\':
+        case '/':
+        case 'b':
+        case 'f':
+        case 'n':
+        case 'r':
+        case 't':
+          position++;
+          return;
+        case 'u':
+          for (int digit = 0; digit < 4; digit++)
+            if (++position >= json.length || Character.digit(json[position], 16) < 0)
+              throw this.malformed();
+          position++;
+          return;
+        default:
+          throw this.malformed();
+      }
+    }
+
+    /**
+     * Read a number.
+     */
+    private void number() {
+      final int start = position;
+      if (this.peek() == '-')
+        position++;
+      if (this.peek() == '0')
+        position++;
+      else if (!this.digits())
+        throw this.malformed();
+      if (this.peek() == '.') {
+        position++;
+        if (!this.digits())
+          throw this.malformed();
+      }
+      if (this.peek() == 'e' || this.peek() == 'E') {
+        position++;
+        if (this.peek() == '+' || this.peek() == '-')
+          position++;
+        if (!this.digits())
+          throw this.malformed();
+      }
+      this.finish(this.add(NUMBER, start, position));
+    }
+
+    /**
+     * Read a literal.
+     */
+    private void literal(String literal) {
+      final int start = position;
+      for (int index = 0; index < literal.length(); index++, position++)
+        if (position >= json.length || json[position] != literal.charAt(index))
+          throw this.malformed();
+      this.finish(this.add(LITERAL, start, position));
+    }
+
+    /**
+     * Read a run of digits.
+     *
+     * @return {@link Boolean} whether a digit was read.
+     */
+    private boolean digits() {
+      final int start = position;
+      while (position < json.length && json[position] >= '0' && json[position] <= '9')
+        position++;
+      return position > start;
+    }
+
+    /**
+     * Close the innermost container.
+     */
+    private void close(int container) {
+      depth--;
+      entries[container * WIDTH + END] = position;
+      entries[container * WIDTH + NEXT] = size;
+    }
+
+    /**
+     * Finish a scalar or empty container entry.
+     */
+    private void finish(int entry) {
+      if (entries[entry * WIDTH + END] == 0)
+        entries[entry * WIDTH + END] = position;
+      entries[entry * WIDTH + NEXT] = entry + 1;
+    }
+
+    /**
+     * Append an entry.
+     */
+    private int add(int type, int start, int end) {
+      if ((size + 1) * WIDTH > entries.length)
+        entries = Arrays.copyOf(entries, entries.length * 2);
+      final int offset = size * WIDTH;
+      entries[offset + TYPE] = type;
+      entries[offset + START] = start;
+      entries[offset + END] = end;
+      return size++;
+    }
+
+    /**
+     * Skip whitespace, returning the byte under the position or 0 at the end.
+     */
+    private byte skipWhitespace() {
+      while (position < json.length) {
+        final byte next = json[position];
+        if (next != ' ' && next != '\n' && next != '\r' && next != '\t')
+          return next;
+        position++;
+      }
+      return 0;
+    }
+
+    /**
+     * Get the byte under the position, or 0 at the end.
+     */
+    private byte peek() {
+      return position < json.length ? json[position] : 0;
+    }
+
+    /**
+     * Create the exception of malformed content at the position.
+     */
+    private IllegalArgumentException malformed() {
+      return new IllegalArgumentException("malformed json at byte " + position);
+    }
+  }
+}
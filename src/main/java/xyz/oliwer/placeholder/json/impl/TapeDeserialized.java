@@ -0,0 +1,52 @@
+package xyz.oliwer.placeholder.json.impl;
+
+import xyz.oliwer.placeholder.json.Deserialized;
+
+/**
+ * This class represents the structural index implementation of {@link Deserialized}.
+ * A cursor is an entry of a shared {@link Tape}, values are only materialized on {@link TapeDeserialized#toString()}.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class TapeDeserialized implements Deserialized {
+  /** {@link TapeDeserialized} the cursor of a value not found, rendering as empty. **/
+  private static final TapeDeserialized MISSING = new TapeDeserialized(null, -1);
+
+  private final Tape tape;
+  private final int entry;
+
+  /**
+   * @param content {@link Byte} array of UTF-8 encoded JSON content.
+   * @throws IllegalArgumentException if the content is malformed.
+   */
+  public TapeDeserialized(byte[] content) {
+    this(Tape.parse(content), 0);
+  }
+
+  private TapeDeserialized(Tape tape, int entry) {
+    this.tape = tape;
+    this.entry = entry;
+  }
+
+  @Override
+  public Deserialized get(int index) {
+    return this.cursor(tape == null ? -1 : tape.element(entry, index));
+  }
+
+  @Override
+  public Deserialized get(String key) {
+    return this.cursor(tape == null ? -1 : tape.member(entry, key));
+  }
+
+  @Override
+  public String toString() {
+    return tape == null ? "" : tape.text(entry);
+  }
+
+  /**
+   * Create the cursor of an entry of this tape.
+   */
+  private TapeDeserialized cursor(int entry) {
+    return entry == -1 ? MISSING : new TapeDeserialized(tape, entry);
+  }
+}
@@ -0,0 +1,126 @@
+package xyz.oliwer.placeholder.json.impl;
+
+import xyz.oliwer.placeholder.json.Deserialized;
+import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.json.JsonPath;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This class represents the dependency free implementation of {@link JsonParser}.
+ * Content is indexed in a single pass into a {@link Tape} of primitive offsets, and
+ * values are materialized lazily as they are navigated to.
+ *
+ * @see TapeDeserialized
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class TapeParser implements JsonParser {
+  @Override
+  public Deserialized deserialize(String content) {
+    return new TapeDeserialized(content.getBytes(UTF_8));
+  }
+
+  /**
+   * Serialize maps, iterables, arrays, strings, numbers and booleans -
+   * any other object is serialized as its string.
+   *
+   * @see JsonParser#serialize(Object)
+   */
+  @Override
+  public String serialize(Object object) {
+    return write(new StringBuilder(), object).toString();
+  }
+
+  /**
+   * Index the content once and navigate every path passed over the index.
+   *
+   * @see JsonParser#extract(byte[], Collection)
+   */
+  @Override
+  public Map<JsonPath, String> extract(byte[] content, Collection<JsonPath> paths) {
+    final var root = new TapeDeserialized(content);
+    final var values = new HashMap<JsonPath, String>();
+    for (final JsonPath path : paths) {
+      final var value = path.resolve(root).toString();
+      if (!value.isEmpty())
+        values.put(path, value);
+    }
+    return values;
+  }
+
+  /**
+   * Write the json of an object.
+   */
+  private static StringBuilder write(StringBuilder builder, Object object) {
+    if (object == null)
+      return builder.append("null");
+    if (object instanceof Number || object instanceof Boolean)
+      return builder.append(object);
+
+    // object
+    if (object instanceof Map) {
+      builder.append('{');
+      boolean first = true;
+      for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+        if (!first)
+          builder.append(',');
+        first = false;
+        write(quote(builder, String.valueOf(entry.getKey())).append(':'), entry.getValue());
+      }
+      return builder.append('}');
+    }
+
+    // array
+    if (object instanceof Iterable || object.getClass().isArray()) {
+      builder.append('[');
+      if (object instanceof Iterable) {
+        boolean first = true;
+        for (final Object element : (Iterable<?>) object) {
+          if (!first)
+            builder.append(',');
+          first = false;
+          write(builder, element);
+        }
+      } else {
+        final int length = Array.getLength(object);
+        for (int index = 0; index < length; index++) {
+          if (index > 0)
+            builder.append(',');
+          write(builder, Array.get(object, index));
+        }
+      }
+      return builder.append(']');
+    }
+    return quote(builder, object.toString());
+  }
+
+  /**
+   * Write a quoted and escaped string.
+   */
+  private static StringBuilder quote(StringBuilder builder, String text) {
+    builder.append('"');
+    for (int index = 0; index < text.length(); index++) {
+      final char character = text.charAt(index);
+      switch (character) {
+        case '"': builder.append("\\\""); break;
+        case '\\': builder.append("\\\\"); break;
+        case '\n': builder.append("\\n"); break;
+        case '\r': builder.append("\\r"); break;
+        case '\t': builder.append("\\t"); break;
+        case '\b': builder.append("\\b"); break;
+        case '\f': builder.append("\\f"); break;
+        default:
+          if (character < 0x20)
+            builder.append(String.format("\\u%04x", (int) character));
+          else
+            builder.append(character);
+      }
+    }
+    return builder.append('"');
+  }
+}
@@ -0,0 +1,120 @@
+package xyz.oliwer.placeholder.metrics;
+
+/**
+ * This class represents an immutable snapshot of the statistics of a cache,
+ * independent of the cache library backing it.
+ *
+ * @see CacheStatsSource
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class CacheSnapshot {
+  /** {@link CacheSnapshot} the statistics of a cache never used. **/
+  public static final CacheSnapshot EMPTY = new CacheSnapshot(0L, 0L, 0L, 0L);
+
+  private final long hitCount;
+  private final long missCount;
+  private final long loadCount;
+  private final long evictionCount;
+
+  /**
+   * Primary constructor.
+   *
+   * @param hitCount {@link Long} the amount of lookups finding a cached value.
+   * @param missCount {@link Long} the amount of lookups finding none.
+   * @param loadCount {@link Long} the amount of values loaded, successfully or not.
+   * @param evictionCount {@link Long} the amount of values evicted.
+   */
+  public CacheSnapshot(long hitCount, long missCount, long loadCount, long evictionCount) {
+    if (hitCount < 0 || missCount < 0 || loadCount < 0 || evictionCount < 0)
+      throw new IllegalArgumentException("counts must NOT be negative");
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.loadCount = loadCount;
+    this.evictionCount = evictionCount;
+  }
+
+  /**
+   * Get the amount of lookups finding a cached value.
+   *
+   * @return {@link Long}
+   */
+  public long hitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Get the amount of lookups finding none.
+   *
+   * @return {@link Long}
+   */
+  public long missCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Get the amount of values loaded, successfully or not.
+   *
+   * @return {@link Long}
+   */
+  public long loadCount() {
+    return this.loadCount;
+  }
+
+  /**
+   * Get the amount of values evicted.
+   *
+   * @return {@link Long}
+   */
+  public long evictionCount() {
+    return this.evictionCount;
+  }
+
+  /**
+   * Get the ratio of lookups finding a cached value, 1 if there was no lookup.
+   *
+   * @return {@link Double}
+   */
+  public double hitRate() {
+    final long requests = hitCount + missCount;
+    return requests == 0 ? 1.0 : (double) hitCount / requests;
+  }
+
+  /**
+   * Sum this snapshot with another one.
+   *
+   * @param other {@link CacheSnapshot} the snapshot to be added.
+   * @return {@link CacheSnapshot} the sum.
+   */
+  public CacheSnapshot plus(CacheSnapshot other) {
+    return new CacheSnapshot(
+      hitCount + other.hitCount,
+      missCount + other.missCount,
+      loadCount + other.loadCount,
+      evictionCount + other.evictionCount
+    );
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof CacheSnapshot))
+      return false;
+    final var snapshot = (CacheSnapshot) other;
+    return hitCount == snapshot.hitCount
+      && missCount == snapshot.missCount
+      && loadCount == snapshot.loadCount
+      && evictionCount == snapshot.evictionCount;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(hitCount) * 31 * 31 * 31
+      + Long.hashCode(missCount) * 31 * 31
+      + Long.hashCode(loadCount) * 31
+      + Long.hashCode(evictionCount);
+  }
+
+  @Override
+  public String toString() {
+    return "CacheSnapshot{hits=" + hitCount + ", misses=" + missCount + ", loads=" + loadCount + ", evictions=" + evictionCount + "}";
+  }
+}
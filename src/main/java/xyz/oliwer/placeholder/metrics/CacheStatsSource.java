@@ -0,0 +1,19 @@
+package xyz.oliwer.placeholder.metrics;
+
+import xyz.oliwer.placeholder.Placeholder;
+
+/**
+ * This interface represents a {@link Placeholder} backed by a cache recording its statistics.
+ *
+ * @see Placeholder.Resolver#cacheStats()
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@FunctionalInterface
+public interface CacheStatsSource {
+  /**
+   * Get a snapshot of the statistics of the cache.
+   *
+   * @return {@link CacheSnapshot}
+   */
+  CacheSnapshot cacheStats();
+}
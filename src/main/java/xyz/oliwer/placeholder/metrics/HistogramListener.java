@@ -0,0 +1,232 @@
+package xyz.oliwer.placeholder.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the in-memory implementation of {@link ResolveListener},
+ * recording a latency histogram per placeholder tag and one for resolve calls.
+ * Durations are bucketed log-linearly with 8 buckets per power of two, hence percentiles
+ * are accurate within 12.5%.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class HistogramListener implements ResolveListener {
+  /**
+   * This class represents the statistics of a single tag or of resolve calls.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Statistics {
+    /** {@link Integer} the amount of linear buckets per power of two, as a power of two. **/
+    private static final int SUB_BITS = 3;
+
+    /** {@link Integer} the amount of linear buckets per power of two. **/
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** {@link AtomicLongArray} the counts of durations by bucket. **/
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_COUNT);
+
+    /** {@link LongAdder} array of counts by outcome. **/
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder totalLength = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private Statistics() {
+      for (int index = 0; index < outcomes.length; index++)
+        outcomes[index] = new LongAdder();
+    }
+
+    /**
+     * Record a single duration.
+     */
+    private void record(long nanos, Outcome outcome, int length) {
+      final long value = Math.max(0, nanos);
+      buckets.incrementAndGet(bucketOf(value));
+      count.increment();
+      totalNanos.add(value);
+      maxNanos.accumulate(value);
+      if (length > 0)
+        totalLength.add(length);
+      if (outcome != null)
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    /**
+     * Get the amount of recorded durations.
+     *
+     * @return {@link Long}
+     */
+    public long count() {
+      return count.sum();
+    }
+
+    /**
+     * Get the amount of invocations of an outcome.
+     *
+     * @param outcome {@link Outcome} the outcome to count.
+     * @return {@link Long}
+     */
+    public long count(Outcome outcome) {
+      return outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * Get the total length of every output recorded.
+     *
+     * @return {@link Long}
+     */
+    public long totalLength() {
+      return totalLength.sum();
+    }
+
+    /**
+     * Get the mean duration in nanoseconds.
+     *
+     * @return {@link Double}
+     */
+    public double mean() {
+      final long count = this.count();
+      return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Get the longest duration in nanoseconds.
+     *
+     * @return {@link Long}
+     */
+    public long max() {
+      return maxNanos.get();
+    }
+
+    /**
+     * Get the duration at a percentile in nanoseconds, the upper bound of its bucket.
+     *
+     * @param percentile {@link Double} the percentile between 0 and 100, e.g. 99 for p99.
+     * @return {@link Long}
+     */
+    public long percentile(double percentile) {
+      if (percentile < 0 || percentile > 100)
+        throw new IllegalArgumentException("percentile must be between 0 and 100");
+
+      // copy the buckets, as they keep being written
+      final var counts = new long[buckets.length()];
+      long total = 0;
+      for (int index = 0; index < counts.length; index++)
+        total += counts[index] = buckets.get(index);
+      if (total == 0)
+        return 0;
+
+      // find the bucket holding the rank
+      final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+      long seen = 0;
+      for (int index = 0; index < counts.length; index++) {
+        seen += counts[index];
+        if (seen >= rank)
+          return Math.min(upperBoundOf(index), this.max());
+      }
+      return this.max();
+    }
+
+    /**
+     * Get the bucket of a duration.
+     */
+    private static int bucketOf(long value) {
+      if (value < SUB_COUNT)
+        return (int) value;
+      final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+      final int sub = (int) (value >>> (magnitude - SUB_BITS)) & (SUB_COUNT - 1);
+      return (magnitude - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Get the highest duration of a bucket.
+     */
+    private static long upperBoundOf(int bucket) {
+      if (bucket < SUB_COUNT)
+        return bucket;
+      final int magnitude = bucket / SUB_COUNT + SUB_BITS - 1;
+      final long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << (magnitude - SUB_BITS);
+      return lower + (1L << (magnitude - SUB_BITS)) - 1;
+    }
+  }
+
+  /** {@link Map} the statistics of every tag. **/
+  private final Map<String, Statistics> tags = new ConcurrentHashMap<>();
+
+  /** {@link Statistics} the statistics of resolve calls. **/
+  private final Statistics resolves = new Statistics();
+
+  /** {@link Map} the latest statistics of every cache. **/
+  private final Map<String, CacheSnapshot> caches = new ConcurrentHashMap<>();
+
+  /**
+   * @see ResolveListener#onParse(String, long, Outcome, int)
+   */
+  @Override
+  public void onParse(String tag, long nanos, Outcome outcome, int length) {
+    tags.computeIfAbsent(tag, $ -> new Statistics()).record(nanos, outcome, length);
+  }
+
+  /**
+   * @see ResolveListener#onResolve(long, int, int)
+   */
+  @Override
+  public void onResolve(long nanos, int originLength, int length) {
+    resolves.record(nanos, null, length);
+  }
+
+  /**
+   * @see ResolveListener#onCacheStats(String, CacheSnapshot)
+   */
+  @Override
+  public void onCacheStats(String name, CacheSnapshot stats) {
+    caches.put(name, stats);
+  }
+
+  /**
+   * Get the statistics of a tag.
+   *
+   * @param tag {@link String} the tag of the placeholder.
+   * @return {@link Statistics} the statistics, or null if the tag was never invoked.
+   */
+  public Statistics tag(String tag) {
+    return tags.get(tag);
+  }
+
+  /**
+   * Get every tag invoked so far.
+   *
+   * @return {@link Set} an unmodifiable view of the tags.
+   */
+  public Set<String> tags() {
+    return Collections.unmodifiableSet(tags.keySet());
+  }
+
+  /**
+   * Get the statistics of resolve calls.
+   *
+   * @return {@link Statistics}
+   */
+  public Statistics resolves() {
+    return this.resolves;
+  }
+
+  /**
+   * Get the latest collected statistics of a cache.
+   *
+   * @param name {@link String} the name of the cache.
+   * @return {@link CacheSnapshot} the statistics, or null if never collected.
+   */
+  public CacheSnapshot cacheStats(String name) {
+    return caches.get(name);
+  }
+}
@@ -0,0 +1,198 @@
+package xyz.oliwer.placeholder.metrics;
+
+import xyz.oliwer.placeholder.BindingPlaceholder;
+import xyz.oliwer.placeholder.Bindings;
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.data.DefaultData;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static xyz.oliwer.placeholder.metrics.ResolveListener.Outcome;
+
+/**
+ * This class represents the instrumented invocation of placeholders, shared by every resolver and template.
+ * Without a listener, the placeholder is invoked as is and nothing is measured.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Instrumentation {
+  private Instrumentation() {}
+
+  /**
+   * Invoke {@link Placeholder#parseInto(Object, DefaultData, Appendable)}, notifying the listener passed.
+   *
+   * @param listener {@link ResolveListener} the listener to be notified.
+   * @param placeholder {@link Placeholder} the placeholder to be invoked.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data from the resolver.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  public static void parseInto(ResolveListener listener, Placeholder placeholder, Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    // nothing to measure
+    if (listener == ResolveListener.NONE) {
+      placeholder.parseInto(customData, defaultData, out);
+      return;
+    }
+    measure(listener, placeholder, defaultData, out, measured -> placeholder.parseInto(customData, defaultData, measured));
+  }
+
+  /**
+   * Invoke a placeholder through its cached bindings if any, notifying the listener passed.
+   *
+   * @param listener {@link ResolveListener} the listener to be notified.
+   * @param placeholder {@link Placeholder} the placeholder to be invoked.
+   * @param bindings {@link Bindings} the bindings of the placeholder, or null if it does not bind its invocations.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data from the resolver.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   * @see Instrumentation#parseInto(ResolveListener, Placeholder, Object, DefaultData, Appendable)
+   */
+  public static void parseInto(ResolveListener listener, Placeholder placeholder, Bindings bindings, Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    if (bindings == null) {
+      parseInto(listener, placeholder, customData, defaultData, out);
+      return;
+    }
+
+    // nothing to measure
+    if (listener == ResolveListener.NONE) {
+      bindings.parseInto(customData, defaultData, out);
+      return;
+    }
+    measure(listener, placeholder, defaultData, out, measured -> bindings.parseInto(customData, defaultData, measured));
+  }
+
+  /**
+   * Invoke an invocation bound beforehand, notifying the listener passed.
+   *
+   * @param listener {@link ResolveListener} the listener to be notified.
+   * @param placeholder {@link BindingPlaceholder} the placeholder that bound the invocation.
+   * @param bound {@link Object} the bound invocation, null if malformed.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data the invocation was bound from.
+   * @param out {@link Appendable} the appendable to write the parsed action into.
+   * @throws IOException if the appendable fails to be written.
+   */
+  public static void parseBound(ResolveListener listener, BindingPlaceholder<?> placeholder, Object bound, Object customData, DefaultData defaultData, Appendable out) throws IOException {
+    // nothing to measure
+    if (listener == ResolveListener.NONE) {
+      Bindings.parseInto(placeholder, bound, customData, defaultData, out);
+      return;
+    }
+    measure(listener, placeholder, defaultData, out, measured -> Bindings.parseInto(placeholder, bound, customData, defaultData, measured));
+  }
+
+  /**
+   * Measure an invocation writing into an appendable.
+   */
+  private static void measure(ResolveListener listener, Placeholder placeholder, DefaultData defaultData, Appendable out, Invocation invocation) throws IOException {
+    final var measured = new Measured(out, defaultData.origin);
+    final long start = System.nanoTime();
+    try {
+      invocation.invoke(measured);
+    } catch (IOException | RuntimeException exception) {
+      listener.onParse(placeholder.tag(), System.nanoTime() - start, Outcome.FAILURE, 0);
+      throw exception;
+    }
+    listener.onParse(placeholder.tag(), System.nanoTime() - start, measured.outcome(), measured.length);
+  }
+
+  /**
+   * Invoke {@link Placeholder#parseAsync(Object, DefaultData)}, notifying the listener passed on completion.
+   *
+   * @param listener {@link ResolveListener} the listener to be notified.
+   * @param placeholder {@link Placeholder} the placeholder to be invoked.
+   * @param customData {@link Object} the custom data of this parse.
+   * @param defaultData {@link DefaultData} the default data from the resolver.
+   * @return {@link CompletableFuture} the future of the parsed action.
+   */
+  public static CompletableFuture<Object> parseAsync(ResolveListener listener, Placeholder placeholder, Object customData, DefaultData defaultData) {
+    // nothing to measure
+    if (listener == ResolveListener.NONE)
+      return placeholder.parseAsync(customData, defaultData);
+
+    // measure until completion
+    final long start = System.nanoTime();
+    return placeholder
+      .parseAsync(customData, defaultData)
+      .whenComplete((parsed, error) -> {
+        final long nanos = System.nanoTime() - start;
+        if (error != null || parsed == null) {
+          listener.onParse(placeholder.tag(), nanos, Outcome.FAILURE, 0);
+          return;
+        }
+        final var text = parsed.toString();
+        listener.onParse(
+          placeholder.tag(),
+          nanos,
+          text.equals(defaultData.origin) ? Outcome.FALLBACK : Outcome.SUCCESS,
+          text.length()
+        );
+      });
+  }
+
+  /**
+   * This interface represents an invocation writing into an appendable.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  @FunctionalInterface
+  private interface Invocation {
+    void invoke(Appendable out) throws IOException;
+  }
+
+  /**
+   * This class represents an appendable measuring the output of a placeholder,
+   * tracking whether it is the origin of the invocation.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class Measured implements Appendable {
+    private final Appendable out;
+    private final String origin;
+
+    /** {@link Integer} the amount of characters written. **/
+    private int length;
+
+    /** {@link Boolean} whether every character written so far follows the origin. **/
+    private boolean matches = true;
+
+    private Measured(Appendable out, String origin) {
+      this.out = out;
+      this.origin = origin;
+    }
+
+    @Override
+    public Appendable append(CharSequence sequence) throws IOException {
+      final var text = sequence == null ? "null" : sequence;
+      return this.append(text, 0, text.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence sequence, int start, int end) throws IOException {
+      final var text = sequence == null ? "null" : sequence;
+      out.append(text, start, end);
+      for (int index = start; matches && index < end; index++)
+        matches = length + index - start < origin.length() && origin.charAt(length + index - start) == text.charAt(index);
+      length += end - start;
+      return this;
+    }
+
+    @Override
+    public Appendable append(char character) throws IOException {
+      out.append(character);
+      matches = matches && length < origin.length() && origin.charAt(length) == character;
+      length++;
+      return this;
+    }
+
+    /**
+     * Get the outcome of the invocation written.
+     */
+    private Outcome outcome() {
+      return matches && length == origin.length() ? Outcome.FALLBACK : Outcome.SUCCESS;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package xyz.oliwer.placeholder.metrics;
+
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.data.DefaultData;
+
+/**
+ * This interface represents the listener of a {@link Placeholder.Resolver}, notified around every
+ * {@link Placeholder#parse(Object, DefaultData)} invocation and every resolve call.
+ * Callbacks run on the resolving thread and must not block.
+ *
+ * @see Placeholder.Resolver#withListener(ResolveListener)
+ * @see HistogramListener
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public interface ResolveListener {
+  /** {@link ResolveListener} the listener doing nothing, skipping every measurement. **/
+  ResolveListener NONE = new ResolveListener() {};
+
+  /**
+   * This enum represents the outcome of a single placeholder invocation.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  enum Outcome {
+    /** The placeholder produced a value. **/
+    SUCCESS,
+
+    /** The placeholder fell back to its own origin. **/
+    FALLBACK,
+
+    /** The placeholder threw. **/
+    FAILURE
+  }
+
+  /**
+   * Called once a placeholder invocation has completed.
+   *
+   * @param tag {@link String} the tag of the placeholder.
+   * @param nanos {@link Long} the duration of the invocation in nanoseconds.
+   * @param outcome {@link Outcome} the outcome of the invocation.
+   * @param length {@link Integer} the length of the output, 0 on failure.
+   */
+  default void onParse(String tag, long nanos, Outcome outcome, int length) {}
+
+  /**
+   * Called once a resolve call has completed.
+   *
+   * @param nanos {@link Long} the duration of the call in nanoseconds.
+   * @param originLength {@link Integer} the length of the origin.
+   * @param length {@link Integer} the length of the output, -1 if written into an appendable of unknown length.
+   */
+  default void onResolve(long nanos, int originLength, int length) {}
+
+  /**
+   * Called with the statistics of a cache whenever they are collected.
+   *
+   * @param name {@link String} the name of the cache, the tag of its placeholder.
+   * @param stats {@link CacheSnapshot} the statistics of the cache.
+   * @see Placeholder.Resolver#cacheStats()
+   */
+  default void onCacheStats(String name, CacheSnapshot stats) {}
+}
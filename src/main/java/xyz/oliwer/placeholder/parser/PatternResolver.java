@@ -1,19 +1,27 @@
 package xyz.oliwer.placeholder.parser;
 
+import xyz.oliwer.placeholder.Bindings;
 import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.PlaceholderSelection;
 import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.metrics.Instrumentation;
+import xyz.oliwer.placeholder.template.Builders;
+import xyz.oliwer.placeholder.template.Template;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Map;
-import java.util.Set;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
-import static java.lang.String.valueOf;
-import static java.util.regex.Pattern.compile;
 import static xyz.oliwer.placeholder.Placeholder.Resolver;
 
 /**
  * This class represents the {@link Pattern} placeholder resolver.
+ * Placeholders are handled one after another in the order of registration, each of them scanning
+ * the results of the ones before - unlike templates compiled by this resolver, bound against the origin.
  *
  * @author Oliwer - https://www.github.com/ImOliwer
  */
@@ -26,10 +34,12 @@ public final class PatternResolver extends Resolver<PatternResolver.Wrapper> {
   public static final class Wrapper implements Placeholder.Wrapper {
     private final Placeholder parent;
     private final Pattern pattern;
+    private final Bindings bindings;
 
     private Wrapper(Placeholder parent, char startDelimiter, char endDelimiter) {
       this.parent = parent;
-      this.pattern = compile(
+      this.bindings = Bindings.of(parent);
+      this.pattern = Pattern.compile(
         format(
           "%s(%s)\\((.*?)\\)\\%s",
           startDelimiter,
@@ -63,51 +73,129 @@ public final class PatternResolver extends Resolver<PatternResolver.Wrapper> {
    */
   @Override
   public <P extends Placeholder> Resolver<Wrapper> withPlaceholder(P placeholder) {
-    this.placeholders.putIfAbsent(
-      placeholder.getClass(),
-      new Wrapper(placeholder, startDelimiter, endDelimiter)
-    );
+    this.register(placeholder.type(), $ -> new Wrapper(placeholder, startDelimiter, endDelimiter));
     return this;
   }
 
+  /**
+   * Compile the origin by running every pattern over the literal runs left by the previous ones.
+   * Unlike {@link PatternResolver#resolveAll(String, Object)}, the output of a placeholder is never re-scanned.
+   *
+   * @see Placeholder.Resolver#compile(String)
+   */
+  @Override
+  public Template compile(String origin) {
+    // ensure the presence
+    if (origin == null)
+      throw new NullPointerException("origin must NOT be null");
+
+    // every piece is either a literal run or a bound invocation
+    var pieces = new ArrayList<Object>();
+    pieces.add(origin);
+
+    for (final Placeholder.Wrapper registered : this.registered()) {
+      final var wrapper = (Wrapper) registered;
+      final var next = new ArrayList<Object>(pieces.size());
+      for (final Object piece : pieces) {
+        if (!(piece instanceof String)) {
+          next.add(piece);
+          continue;
+        }
+
+        // split the literal run by the matches of this wrapper
+        final var literal = (String) piece;
+        final var matcher = wrapper.pattern.matcher(literal);
+        int last = 0;
+        while (matcher.find()) {
+          next.add(literal.substring(last, matcher.start()));
+          next.add(Map.entry(wrapper.parent, this.data(wrapper, matcher)));
+          last = matcher.end();
+        }
+        next.add(literal.substring(last));
+      }
+      pieces = next;
+    }
+
+    // build the template
+    final var builder = Template.builder(origin);
+    for (final Object piece : pieces) {
+      if (piece instanceof String) {
+        builder.literal((String) piece);
+        continue;
+      }
+
+      @SuppressWarnings("unchecked")
+      final var invocation = (Map.Entry<Placeholder, DefaultData>) piece;
+      builder.invocation(invocation.getKey(), invocation.getValue());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Results of earlier placeholders are scanned by later ones, unless rendered from the template cache.
+   *
+   * @see Resolver#rescansResults()
+   */
+  @Override
+  protected boolean rescansResults() {
+    return true;
+  }
+
   /**
    * @see Placeholder.Resolver#resolveAll(String, Object)
    **/
   @Override
   public String resolveAll(String origin, Object customData) {
-    final var values = placeholders.values();
-    for (final Wrapper wrapper : values)
-      origin = this.handle(wrapper, origin, customData);
-    return origin;
+    final long start = this.resolveStart();
+
+    // render the cached template if enabled
+    final var cache = this.templateCache;
+    if (cache != null)
+      return this.finish(start, origin, cache.get(origin).render(customData, listener));
+
+    var resolved = origin;
+    for (final Placeholder.Wrapper wrapper : this.registered())
+      resolved = this.handle((Wrapper) wrapper, resolved, customData);
+    return this.finish(start, origin, resolved);
   }
 
   /**
-   * @see Resolver#resolveAllWithout(String, Object, Set)
+   * @see Resolver#resolveAllWithout(String, Object, PlaceholderSelection)
    */
   @Override
-  public String resolveAllWithout(String origin, Object customData, Set<Class<? extends Placeholder>> without) {
-    final var entries = placeholders.entrySet();
-    for (Map.Entry<Class<? extends Placeholder>, Wrapper> entry : entries)
-      if (!without.contains(entry.getKey()))
-        origin = this.handle(entry.getValue(), origin, customData);
-    return origin;
+  public String resolveAllWithout(String origin, Object customData, PlaceholderSelection without) {
+    this.checkSelection(without);
+    final long start = this.resolveStart();
+    var resolved = origin;
+    final var registered = this.registered();
+    for (int ordinal = 0; ordinal < registered.length; ordinal++)
+      if (!without.contains(ordinal))
+        resolved = this.handle((Wrapper) registered[ordinal], resolved, customData);
+    return this.finish(start, origin, resolved);
   }
 
   /**
-   * @see Resolver#resolve(String, Object, Set)
+   * Selected placeholders are handled in the order of registration.
+   *
+   * @see Resolver#resolve(String, Object, PlaceholderSelection)
    */
   @Override
-  public String resolve(String origin, Object customData, Set<Class<? extends Placeholder>> types) {
+  public String resolve(String origin, Object customData, PlaceholderSelection selection) {
     // ensure the presence
-    if (types == null || origin == null)
-      throw new NullPointerException("types and origin must NOT be null");
+    if (origin == null)
+      throw new NullPointerException("origin must NOT be null");
 
     // loop over and handle the parse
-    for (final var type : types)
-      origin = this.handle(placeholders.get(type), origin, customData);
+    this.checkSelection(selection);
+    final long start = this.resolveStart();
+    var resolved = origin;
+    final var registered = this.registered();
+    for (int ordinal = 0; ordinal < registered.length; ordinal++)
+      if (selection.contains(ordinal))
+        resolved = this.handle((Wrapper) registered[ordinal], resolved, customData);
 
     // return the processed origin
-    return origin;
+    return this.finish(start, origin, resolved);
   }
 
   /**
@@ -120,7 +208,8 @@ public final class PatternResolver extends Resolver<PatternResolver.Wrapper> {
       throw new NullPointerException("type and origin must NOT be null");
 
     // process and return
-    return this.handle(placeholders.get(type), origin, customData);
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handle(placeholders.get(type), origin, customData));
   }
 
   /**
@@ -131,24 +220,52 @@ public final class PatternResolver extends Resolver<PatternResolver.Wrapper> {
     if (wrapper == null)
       return origin;
 
+    // nothing to replace - return the very same origin
+    final var matcher = wrapper.pattern.matcher(origin);
+    if (!matcher.find())
+      return origin;
+
     // necessity
     final var parent = wrapper.parent;
 
-    // parse
-    return wrapper
-      .pattern
-      .matcher(origin)
-      .replaceAll(result ->
-        parent.parse(
-          customData,
-          new DefaultData(
-            result.group(0),
-            result.group(2).split(valueOf(parent.separator())),
-            this.startDelimiter,
-            this.endDelimiter
-          )
-        ).toString()
-      );
+    // parse every match into a borrowed builder
+    final var listener = this.listener;
+    final var builder = Builders.acquire();
+    try {
+      int last = 0;
+      do {
+        builder.append(origin, last, matcher.start());
+        Instrumentation.parseInto(listener, parent, wrapper.bindings, customData, this.data(wrapper, matcher), builder);
+        last = matcher.end();
+      } while (matcher.find());
+      return Builders.release(builder.append(origin, last, origin.length()));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Finish measuring a resolve call, returning its result.
+   */
+  private String finish(long start, String origin, String resolved) {
+    this.resolveEnd(start, origin, resolved.length());
+    return resolved;
+  }
+
+  /**
+   * Create the default data of a match.
+   */
+  private DefaultData data(Wrapper wrapper, MatchResult result) {
+    final int offset = result.start();
+    return new DefaultData(
+      result.group(0),
+      result.start(2) - offset,
+      result.end(2) - offset,
+      wrapper.parent.separator(),
+      this.startDelimiter,
+      this.endDelimiter,
+      !wrapper.parent.lazyParameters()
+    );
   }
 
   /**
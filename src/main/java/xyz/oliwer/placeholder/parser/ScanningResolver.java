@@ -0,0 +1,582 @@
+package xyz.oliwer.placeholder.parser;
+
+import xyz.oliwer.placeholder.Bindings;
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.PlaceholderSelection;
+import xyz.oliwer.placeholder.Purity;
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.metrics.Instrumentation;
+import xyz.oliwer.placeholder.metrics.ResolveListener;
+import xyz.oliwer.placeholder.template.Builders;
+import xyz.oliwer.placeholder.template.Template;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static xyz.oliwer.placeholder.Placeholder.Resolver;
+
+/**
+ * This class represents the single pass placeholder resolver.
+ * Rather than running one {@link java.util.regex.Pattern} per registered placeholder,
+ * the origin is walked once and every <b>start tag ( args ) end</b> span is dispatched
+ * through a tag lookup table.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class ScanningResolver extends Resolver<ScanningResolver.Wrapper> {
+  /**
+   * This class represents the placeholder wrapper for {@link ScanningResolver}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Wrapper implements Placeholder.Wrapper {
+    private final Placeholder parent;
+    private final String tag;
+    private final int ordinal;
+    private final Bindings bindings;
+
+    private Wrapper(Placeholder parent, int ordinal) {
+      this.parent = parent;
+      this.tag = parent.tag();
+      this.ordinal = ordinal;
+      this.bindings = Bindings.of(parent);
+    }
+
+    @Override
+    public Placeholder getParent() {
+      return this.parent;
+    }
+  }
+
+  /** {@link Wrapper} tag lookup table of registered placeholders, bucketed by the length of their tag. **/
+  private volatile Wrapper[][] tags = new Wrapper[1][0];
+
+  /** {@link Integer} the maximum depth of nested spans resolved, 0 if nesting is disabled. **/
+  private volatile int nestingDepth;
+
+  /**
+   * @param startDelimiter {@link Character} the start delimiter to be set for this parser.
+   * @param endDelimiter {@link Character} the end delimiter to be set for this parser.
+   * @see Placeholder.Resolver#Resolver(char, char)
+   **/
+  public ScanningResolver(char startDelimiter, char endDelimiter) {
+    super(startDelimiter, endDelimiter);
+  }
+
+  /**
+   * @see Placeholder.Resolver#withPlaceholder(Placeholder)
+   */
+  @Override
+  public synchronized <P extends Placeholder> Resolver<Wrapper> withPlaceholder(P placeholder) {
+    if (this.ordinal(placeholder.type()) != -1)
+      return this;
+    final var tag = placeholder.tag();
+    if (this.lookup(tag, 0, tag.length()) != null)
+      throw new IllegalArgumentException("tag '" + tag + "' is already registered");
+
+    // copy the bucket of the tag's length with the new wrapper appended
+    final var wrapper = this.register(placeholder.type(), ordinal -> new Wrapper(placeholder, ordinal));
+    final var tags = this.tags;
+    final var next = Arrays.copyOf(tags, Math.max(tags.length, tag.length() + 1));
+    for (int length = tags.length; length < next.length; length++)
+      next[length] = new Wrapper[0];
+    final var bucket = Arrays.copyOf(next[tag.length()], next[tag.length()].length + 1);
+    bucket[bucket.length - 1] = wrapper;
+    next[tag.length()] = bucket;
+    this.tags = next;
+    return this;
+  }
+
+  /**
+   * Find the wrapper whose tag equals a region of a sequence, without copying the region.
+   *
+   * @param origin {@link CharSequence} the sequence holding the tag.
+   * @param from {@link Integer} the index the tag starts at, inclusive.
+   * @param to {@link Integer} the index the tag ends at, exclusive.
+   * @return {@link Wrapper} the wrapper, or null if no tag matches.
+   */
+  private Wrapper lookup(CharSequence origin, int from, int to) {
+    final var tags = this.tags;
+    final int length = to - from;
+    if (length >= tags.length)
+      return null;
+    candidates:
+    for (final var wrapper : tags[length]) {
+      for (int index = 0; index < length; index++) {
+        if (wrapper.tag.charAt(index) != origin.charAt(from + index))
+          continue candidates;
+      }
+      return wrapper;
+    }
+    return null;
+  }
+
+  /**
+   * Resolve spans nested in the arguments of other spans, innermost first and in a single walk,
+   * such as <b>&lt;api(&lt;random(a,b)&gt;,...)&gt;</b>. Within one resolve call, identical invocations
+   * (same tag and resolved arguments) are parsed once and their result reused.
+   * Spans nested deeper than the limit are read as plain arguments.
+   * <p>
+   * Templates bind their spans once and do not nest, hence the template cache is bypassed while
+   * nesting is enabled, and {@link ScanningResolver#compile(String)} is unaffected.
+   *
+   * @param maximumDepth {@link Integer} the maximum depth of nested spans, 0 to disable nesting.
+   * @return {@link ScanningResolver} current instance.
+   */
+  public ScanningResolver withNesting(int maximumDepth) {
+    if (maximumDepth < 0)
+      throw new IllegalArgumentException("maximum depth must NOT be negative");
+    this.nestingDepth = maximumDepth;
+    return this;
+  }
+
+  /**
+   * @see Placeholder.Resolver#resolveAll(String, Object)
+   **/
+  @Override
+  public String resolveAll(String origin, Object customData) {
+    // render the cached template if enabled
+    final var cache = nestingDepth == 0 ? this.templateCache : null;
+    final long start = this.resolveStart();
+    if (cache != null)
+      return this.finish(start, origin, cache.get(origin).render(customData, listener));
+
+    return this.finish(start, origin, this.handle(origin, customData, null, false));
+  }
+
+  /**
+   * @see Resolver#resolveAllWithout(String, Object, PlaceholderSelection)
+   */
+  @Override
+  public String resolveAllWithout(String origin, Object customData, PlaceholderSelection without) {
+    this.checkSelection(without);
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handle(origin, customData, without, false));
+  }
+
+  /**
+   * @see Resolver#resolve(String, Object, PlaceholderSelection)
+   */
+  @Override
+  public String resolve(String origin, Object customData, PlaceholderSelection selection) {
+    // ensure the presence
+    if (origin == null)
+      throw new NullPointerException("origin must NOT be null");
+
+    // process and return
+    this.checkSelection(selection);
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handle(origin, customData, selection, true));
+  }
+
+  /**
+   * @see Resolver#resolveSingle(String, Object, Class)
+   */
+  @Override
+  public String resolveSingle(String origin, Object customData, Class<? extends Placeholder> type) {
+    // ensure the presence
+    if (type == null || origin == null)
+      throw new NullPointerException("type and origin must NOT be null");
+
+    // process and return
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handle(origin, customData, this.selection(type), true));
+  }
+
+  /**
+   * @see Resolver#resolveAllInto(CharSequence, Object, Appendable)
+   */
+  @Override
+  public <A extends Appendable> A resolveAllInto(CharSequence origin, Object customData, A out) {
+    // render the cached template if enabled - only strings are cached, as other sequences are rarely repeated
+    final var cache = nestingDepth == 0 ? this.templateCache : null;
+    final long start = this.resolveStart();
+    if (cache != null && origin instanceof String)
+      return this.finish(start, origin, cache.get((String) origin).renderInto(customData, out, listener));
+
+    return this.finish(start, origin, this.handleInto(origin, customData, null, false, out));
+  }
+
+  /**
+   * @see Resolver#resolveInto(CharSequence, Object, PlaceholderSelection, Appendable)
+   */
+  @Override
+  public <A extends Appendable> A resolveInto(CharSequence origin, Object customData, PlaceholderSelection selection, A out) {
+    // ensure the presence
+    if (origin == null)
+      throw new NullPointerException("origin must NOT be null");
+
+    // process and return
+    this.checkSelection(selection);
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handleInto(origin, customData, selection, true, out));
+  }
+
+  /**
+   * @see Resolver#resolveSingleInto(CharSequence, Object, Class, Appendable)
+   */
+  @Override
+  public <A extends Appendable> A resolveSingleInto(CharSequence origin, Object customData, Class<? extends Placeholder> type, A out) {
+    // ensure the presence
+    if (type == null || origin == null)
+      throw new NullPointerException("type and origin must NOT be null");
+
+    // process and return
+    final long start = this.resolveStart();
+    return this.finish(start, origin, this.handleInto(origin, customData, this.selection(type), true, out));
+  }
+
+  /**
+   * @see Placeholder.Resolver#compile(String)
+   */
+  @Override
+  public Template compile(String origin) {
+    // ensure the presence
+    if (origin == null)
+      throw new NullPointerException("origin must NOT be null");
+
+    // walk every span once and bind it
+    final var builder = Template.builder(origin);
+    final var cursor = new Cursor(origin, null, false);
+    int last = 0;
+    while (cursor.next()) {
+      builder
+        .literal(origin, last, cursor.start)
+        .invocation(cursor.wrapper.parent, cursor.data());
+      last = cursor.end;
+    }
+    return builder
+      .literal(origin, last, origin.length())
+      .build();
+  }
+
+  /**
+   * Walk the origin once and replace every span of an accepted placeholder.
+   *
+   * @param selection {@link PlaceholderSelection} the selection to filter by, or null to accept every registered placeholder.
+   * @param include {@link Boolean} whether the selected placeholders are included or excluded.
+   */
+  private String handle(String origin, Object customData, PlaceholderSelection selection, boolean include) {
+    // resolve nested spans in their own walk
+    final int nestingDepth = this.nestingDepth;
+    if (nestingDepth > 0) {
+      final var builder = Builders.acquire();
+      new Nesting(origin, customData, selection, include, nestingDepth).resolve(builder);
+      return Builders.release(builder);
+    }
+
+    // nothing to replace - return the very same origin
+    final var cursor = new Cursor(origin, selection, include);
+    if (!cursor.next())
+      return origin;
+
+    // replace every span into a borrowed builder
+    final var listener = this.listener;
+    final var builder = Builders.acquire();
+    try {
+      int last = 0;
+      do {
+        builder.append(origin, last, cursor.start);
+        Instrumentation.parseInto(listener, cursor.wrapper.parent, cursor.wrapper.bindings, customData, cursor.data(), builder);
+        last = cursor.end;
+      } while (cursor.next());
+      return Builders.release(builder.append(origin, last, origin.length()));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Walk the origin once, writing literal runs and every span of an accepted placeholder into an appendable.
+   *
+   * @see ScanningResolver#handle(String, Object, PlaceholderSelection, boolean)
+   */
+  private <A extends Appendable> A handleInto(CharSequence origin, Object customData, PlaceholderSelection selection, boolean include, A out) {
+    // resolve nested spans in their own walk
+    final int nestingDepth = this.nestingDepth;
+    if (nestingDepth > 0) {
+      final var builder = Builders.acquire();
+      new Nesting(origin, customData, selection, include, nestingDepth).resolve(builder);
+      return append(out, Builders.release(builder));
+    }
+
+    final var cursor = new Cursor(origin, selection, include);
+    final var listener = this.listener;
+    try {
+      int last = 0;
+      while (cursor.next()) {
+        out.append(origin, last, cursor.start);
+        Instrumentation.parseInto(listener, cursor.wrapper.parent, cursor.wrapper.bindings, customData, cursor.data(), out);
+        last = cursor.end;
+      }
+      out.append(origin, last, origin.length());
+      return out;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Finish measuring a resolve call, returning its result.
+   */
+  private String finish(long start, CharSequence origin, String resolved) {
+    this.resolveEnd(start, origin, resolved.length());
+    return resolved;
+  }
+
+  /**
+   * Finish measuring a resolve call written into an appendable, returning the appendable.
+   */
+  private <A extends Appendable> A finish(long start, CharSequence origin, A out) {
+    this.resolveEnd(start, origin, -1);
+    return out;
+  }
+
+  /**
+   * This class represents the cursor walking over the spans of an origin.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private final class Cursor {
+    private final CharSequence origin;
+    private final int length;
+    private final PlaceholderSelection selection;
+    private final boolean include;
+
+    /** {@link Integer} the start delimiter index of the current span. **/
+    private int start;
+
+    /** {@link Integer} the opening parenthesis index of the current span. **/
+    private int open;
+
+    /** {@link Integer} the closing parenthesis index of the current span. **/
+    private int close;
+
+    /** {@link Integer} the index following the end delimiter of the current span. **/
+    private int end;
+
+    /** {@link Wrapper} the wrapper of the current span. **/
+    private Wrapper wrapper;
+
+    private Cursor(CharSequence origin, PlaceholderSelection selection, boolean include) {
+      this.origin = origin;
+      this.length = origin.length();
+      this.selection = selection;
+      this.include = include;
+    }
+
+    /**
+     * Move to the next span of an accepted placeholder.
+     *
+     * @return {@link Boolean} whether a span was found.
+     */
+    private boolean next() {
+      int start = indexOf(origin, startDelimiter, end);
+      while (start != -1) {
+        final int open = indexOfOpen(origin, start + 1, length);
+        if (open != -1) {
+          final var wrapper = lookup(origin, start + 1, open);
+          if (wrapper != null && (selection == null || selection.contains(wrapper.ordinal) == include)) {
+            final int close = indexOfClose(origin, open + 1, length);
+            if (close != -1) {
+              this.start = start;
+              this.open = open;
+              this.close = close;
+              this.end = close + 2;
+              this.wrapper = wrapper;
+              return true;
+            }
+          }
+        }
+        start = indexOf(origin, startDelimiter, start + 1);
+      }
+      return false;
+    }
+
+    /**
+     * Create the default data of the current span.
+     *
+     * @return {@link DefaultData}
+     */
+    private DefaultData data() {
+      return new DefaultData(
+        origin.subSequence(start, end).toString(),
+        open + 1 - start,
+        close - start,
+        wrapper.parent.separator(),
+        startDelimiter,
+        endDelimiter,
+        !wrapper.parent.lazyParameters()
+      );
+    }
+  }
+
+  /**
+   * This class represents a single walk over an origin resolving nested spans innermost first.
+   * The arguments of a span are rewritten with the results of its inner spans before it is parsed,
+   * and every distinct rewritten span of a pure or per-render placeholder is parsed once per walk.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private final class Nesting {
+    private final CharSequence origin;
+    private final int length;
+    private final Object customData;
+    private final PlaceholderSelection selection;
+    private final boolean include;
+    private final int maximumDepth;
+    private final ResolveListener listener = ScanningResolver.this.listener;
+
+    /** {@link Map} the result of every memoisable rewritten span parsed during this walk. **/
+    private final Map<String, String> parsed = new HashMap<>();
+
+    private Nesting(CharSequence origin, Object customData, PlaceholderSelection selection, boolean include, int maximumDepth) {
+      this.origin = origin;
+      this.length = origin.length();
+      this.customData = customData;
+      this.selection = selection;
+      this.include = include;
+      this.maximumDepth = maximumDepth;
+    }
+
+    /**
+     * Write the origin with every span resolved.
+     */
+    private void resolve(StringBuilder out) {
+      int last = 0;
+      int start = indexOf(origin, startDelimiter, 0);
+      while (start != -1) {
+        out.append(origin, last, start);
+        final int end = this.span(start, 0, out);
+        if (end == -1) {
+          out.append(startDelimiter);
+          last = start + 1;
+        } else
+          last = end;
+        start = indexOf(origin, startDelimiter, last);
+      }
+      out.append(origin, last, length);
+    }
+
+    /**
+     * Resolve the span starting at the index passed, writing its result.
+     *
+     * @return {@link Integer} the index following the span, or -1 if there is no span of an accepted placeholder.
+     */
+    private int span(int start, int depth, StringBuilder out) {
+      final int open = indexOfOpen(origin, start + 1, length);
+      if (open == -1)
+        return -1;
+      final var wrapper = lookup(origin, start + 1, open);
+      if (wrapper == null || (selection != null && selection.contains(wrapper.ordinal) != include))
+        return -1;
+
+      // rewrite the arguments, resolving every inner span first
+      final var span = new StringBuilder().append(origin, start, open + 1);
+      for (int index = open + 1; index < length - 1; ) {
+        final char character = origin.charAt(index);
+        if (character == ')' && origin.charAt(index + 1) == endDelimiter) {
+          out.append(this.parse(wrapper, span.append(')').append(endDelimiter).toString(), open + 1 - start));
+          return index + 2;
+        }
+        if (isLineTerminator(character))
+          return -1;
+        if (character == startDelimiter && depth < maximumDepth) {
+          final int end = this.span(index, depth + 1, span);
+          if (end != -1) {
+            index = end;
+            continue;
+          }
+        }
+        span.append(character);
+        index++;
+      }
+      return -1;
+    }
+
+    /**
+     * Parse a rewritten span, or reuse its result if already parsed during this walk.
+     * Spans of volatile or time bounded placeholders are parsed on every occurrence.
+     */
+    private String parse(Wrapper wrapper, String span, int from) {
+      final var kind = wrapper.parent.purity().kind;
+      final boolean memoised = kind == Purity.Kind.PURE || kind == Purity.Kind.PER_RENDER;
+      final var cached = memoised ? parsed.get(span) : null;
+      if (cached != null)
+        return cached;
+
+      final var data = new DefaultData(
+        span,
+        from,
+        span.length() - 2,
+        wrapper.parent.separator(),
+        startDelimiter,
+        endDelimiter,
+        !wrapper.parent.lazyParameters()
+      );
+      final var result = new StringBuilder();
+      try {
+        Instrumentation.parseInto(listener, wrapper.parent, wrapper.bindings, customData, data, result);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+      final var resolved = result.toString();
+      if (memoised)
+        parsed.put(span, resolved);
+      return resolved;
+    }
+  }
+
+  /**
+   * Find the opening parenthesis following a tag, bound by the longest registered tag.
+   */
+  private int indexOfOpen(CharSequence origin, int from, int length) {
+    final int limit = Math.min(length, from + tags.length);
+    for (int index = from; index < limit; index++) {
+      final char character = origin.charAt(index);
+      if (character == '(')
+        return index;
+      if (isLineTerminator(character))
+        return -1;
+    }
+    return -1;
+  }
+
+  /**
+   * Find the first closing parenthesis directly followed by the end delimiter.
+   */
+  private int indexOfClose(CharSequence origin, int from, int length) {
+    for (int index = from; index < length - 1; index++) {
+      final char character = origin.charAt(index);
+      if (character == ')' && origin.charAt(index + 1) == endDelimiter)
+        return index;
+      if (isLineTerminator(character))
+        return -1;
+    }
+    return -1;
+  }
+
+  /**
+   * Find a character in a sequence, deferring to {@link String#indexOf(int, int)} when possible.
+   */
+  private static int indexOf(CharSequence origin, char character, int from) {
+    if (origin instanceof String)
+      return ((String) origin).indexOf(character, from);
+
+    final int length = origin.length();
+    for (int index = from; index < length; index++)
+      if (origin.charAt(index) == character)
+        return index;
+    return -1;
+  }
+
+  /**
+   * Check whether a character terminates a line, mirroring the regex dot.
+   */
+  static boolean isLineTerminator(char character) {
+    return character == '\n' || character == '\r' || character == 0x85 || character == 0x2028 || character == 0x2029;
+  }
+}
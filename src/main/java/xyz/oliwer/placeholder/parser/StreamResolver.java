@@ -0,0 +1,246 @@
+package xyz.oliwer.placeholder.parser;
+
+import xyz.oliwer.placeholder.Placeholder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * This class represents the streaming front of a {@link Placeholder.Resolver}.
+ * Documents are read in chunks and resolved incrementally, so memory is bound by the chunk size
+ * and the longest single placeholder rather than by the size of the document.
+ * Placeholders spanning over chunk boundaries are carried over to the next chunk.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class StreamResolver {
+  /** {@link Integer} the default size of a chunk. **/
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+  /** {@link Integer} the default maximum length of a single placeholder. **/
+  public static final int DEFAULT_MAXIMUM_SPAN = 4 * 1024;
+
+  /** {@link Long} the maximum size of a single memory mapped window. **/
+  private static final long MAXIMUM_WINDOW = 64L * 1024 * 1024;
+
+  /** {@link Placeholder.Resolver} the resolver of every chunk. **/
+  private final Placeholder.Resolver<?> resolver;
+
+  /** {@link Integer} the size of a chunk. **/
+  private final int chunkSize;
+
+  /** {@link Integer} the maximum length of a single placeholder. **/
+  private final int maximumSpan;
+
+  /**
+   * Primary constructor.
+   *
+   * @param resolver {@link Placeholder.Resolver} the resolver of every chunk.
+   * @param chunkSize {@link Integer} the amount of characters read at once.
+   * @param maximumSpan {@link Integer} the maximum length of a single placeholder, longer ones are left as is.
+   */
+  public StreamResolver(Placeholder.Resolver<?> resolver, int chunkSize, int maximumSpan) {
+    if (chunkSize <= 0 || maximumSpan <= 0)
+      throw new IllegalArgumentException("chunk size and maximum span must be positive");
+    this.resolver = resolver;
+    this.chunkSize = chunkSize;
+    this.maximumSpan = maximumSpan;
+  }
+
+  /**
+   * @param resolver {@link Placeholder.Resolver} the resolver of every chunk.
+   * @see StreamResolver#StreamResolver(Placeholder.Resolver, int, int)
+   */
+  public StreamResolver(Placeholder.Resolver<?> resolver) {
+    this(resolver, DEFAULT_CHUNK_SIZE, DEFAULT_MAXIMUM_SPAN);
+  }
+
+  /**
+   * Resolve every placeholder read from a reader, writing the result incrementally.
+   *
+   * @param in {@link Reader} the reader of the document.
+   * @param customData {@link Object} the custom data for this resolve operation.
+   * @param out {@link Writer} the writer of the resolved document.
+   * @throws IOException if reading or writing fails.
+   */
+  public void resolveAll(Reader in, Object customData, Writer out) throws IOException {
+    // necessities
+    final char start = resolver.startDelimiter;
+    final char end = resolver.endDelimiter;
+    final var buffer = new char[chunkSize + maximumSpan];
+    int length = 0;
+
+    try {
+      while (true) {
+        // fill the buffer
+        final int read = in.read(buffer, length, buffer.length - length);
+        if (read == -1) {
+          this.resolve(buffer, 0, length, customData, out);
+          return;
+        }
+        length += read;
+
+        // resolve everything that cannot be part of a placeholder spanning past the buffer
+        final int cut = cutOf(buffer, length, start, end);
+        this.resolve(buffer, 0, cut, customData, out);
+        int carry = length - cut;
+        System.arraycopy(buffer, cut, buffer, 0, carry);
+
+        // a carried over span longer than allowed is no placeholder - write it as is up to the next candidate
+        while (carry > maximumSpan) {
+          int next = 1;
+          while (next < carry && buffer[next] != start)
+            next++;
+          out.write(buffer, 0, next);
+          carry -= next;
+          System.arraycopy(buffer, next, buffer, 0, carry);
+        }
+        length = carry;
+      }
+    } catch (UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+  }
+
+  /**
+   * Resolve every placeholder read from a byte channel, writing the result incrementally.
+   *
+   * @param in {@link ReadableByteChannel} the channel of the document.
+   * @param charset {@link Charset} the charset of the document.
+   * @param customData {@link Object} the custom data for this resolve operation.
+   * @param out {@link Writer} the writer of the resolved document.
+   * @throws IOException if reading or writing fails.
+   */
+  public void resolveAll(ReadableByteChannel in, Charset charset, Object customData, Writer out) throws IOException {
+    this.resolveAll(Channels.newReader(in, charset.newDecoder(), chunkSize), customData, out);
+  }
+
+  /**
+   * Resolve every placeholder of a memory mapped file, writing the result incrementally.
+   *
+   * @param path {@link Path} the path of the document.
+   * @param charset {@link Charset} the charset of the document.
+   * @param customData {@link Object} the custom data for this resolve operation.
+   * @param out {@link Writer} the writer of the resolved document.
+   * @throws IOException if reading or writing fails.
+   */
+  public void resolveAll(Path path, Charset charset, Object customData, Writer out) throws IOException {
+    try (final var channel = FileChannel.open(path, READ)) {
+      this.resolveAll(new MappedReader(channel, charset.newDecoder()), customData, out);
+    }
+  }
+
+  /**
+   * Resolve a range of the buffer into the writer.
+   */
+  private void resolve(char[] buffer, int offset, int length, Object customData, Writer out) {
+    if (length > 0)
+      resolver.resolveAllInto(CharBuffer.wrap(buffer, offset, length), customData, out);
+  }
+
+  /**
+   * Find the index up to which the buffer can be resolved on its own.
+   * A span starting before the last closing sequence ends before it, and no span crosses a line terminator,
+   * hence the cut is the first start delimiter following both.
+   */
+  private static int cutOf(char[] buffer, int length, char start, char end) {
+    // find the last closing sequence or line terminator
+    int base = 0;
+    for (int index = length - 1; index >= 0; index--) {
+      final char character = buffer[index];
+      if (ScanningResolver.isLineTerminator(character)) {
+        base = index + 1;
+        break;
+      }
+      if (character == end && index > 0 && buffer[index - 1] == ')') {
+        base = index + 1;
+        break;
+      }
+    }
+
+    // find the first start delimiter following it
+    for (int index = base; index < length; index++)
+      if (buffer[index] == start)
+        return index;
+    return length;
+  }
+
+  /**
+   * This class represents a reader decoding a file through memory mapped windows.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  private static final class MappedReader extends Reader {
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long size;
+
+    /** {@link Long} the file position of the current window. **/
+    private long position;
+
+    /** {@link ByteBuffer} the current window, null until mapped. **/
+    private ByteBuffer window;
+
+    /** {@link Boolean} whether the decoder has been flushed. **/
+    private boolean flushed;
+
+    private MappedReader(FileChannel channel, CharsetDecoder decoder) throws IOException {
+      this.channel = channel;
+      this.decoder = decoder;
+      this.size = channel.size();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+      if (length == 0)
+        return 0;
+
+      final var chars = CharBuffer.wrap(buffer, offset, length);
+      while (chars.position() == offset) {
+        // map the next window, starting at the first byte not yet decoded
+        if (window == null) {
+          if (position >= size) {
+            if (flushed)
+              break;
+            decoder.decode(ByteBuffer.allocate(0), chars, true);
+            decoder.flush(chars);
+            flushed = true;
+            continue;
+          }
+          window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAXIMUM_WINDOW, size - position));
+        }
+
+        // decode
+        final boolean last = position + window.limit() >= size;
+        final CoderResult result = decoder.decode(window, chars, last);
+        if (result.isError())
+          result.throwException();
+        if (result.isOverflow())
+          break;
+
+        // the window is drained, bar the bytes of a character crossing into the next one
+        position += window.position();
+        window = null;
+      }
+
+      final int read = chars.position() - offset;
+      return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,47 @@
+package xyz.oliwer.placeholder.template;
+
+/**
+ * This class represents the per-thread pool of reusable {@link StringBuilder}s used when rendering.
+ * A builder is borrowed rather than shared, so a placeholder resolving recursively on the same thread
+ * simply gets a fresh builder instead of corrupting the one in use.
+ *
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Builders {
+  /** {@link Integer} the maximum capacity of a builder kept for reuse. **/
+  private static final int MAXIMUM_CAPACITY = 64 * 1024;
+
+  /** {@link ThreadLocal} the idle builder of each thread, if any. **/
+  private static final ThreadLocal<StringBuilder[]> IDLE = ThreadLocal.withInitial(() -> new StringBuilder[1]);
+
+  private Builders() {}
+
+  /**
+   * Borrow an empty builder of the current thread.
+   *
+   * @return {@link StringBuilder}
+   */
+  public static StringBuilder acquire() {
+    final var idle = IDLE.get();
+    final var builder = idle[0];
+    if (builder == null)
+      return new StringBuilder(256);
+    idle[0] = null;
+    return builder;
+  }
+
+  /**
+   * Return a borrowed builder to the current thread, yielding its content.
+   *
+   * @param builder {@link StringBuilder} the builder to be returned.
+   * @return {@link String} the content of the builder.
+   */
+  public static String release(StringBuilder builder) {
+    final var content = builder.toString();
+    if (builder.capacity() <= MAXIMUM_CAPACITY) {
+      builder.setLength(0);
+      IDLE.get()[0] = builder;
+    }
+    return content;
+  }
+}
@@ -0,0 +1,500 @@
+package xyz.oliwer.placeholder.template;
+
+import xyz.oliwer.placeholder.BindingPlaceholder;
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.Purity;
+import xyz.oliwer.placeholder.data.DefaultData;
+import xyz.oliwer.placeholder.metrics.Instrumentation;
+import xyz.oliwer.placeholder.metrics.ResolveListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class represents an origin compiled once by a {@link Placeholder.Resolver}.
+ * A template is an immutable list of literal runs and bound placeholder invocations,
+ * hence rendering only runs the {@link Placeholder#parse(Object, DefaultData)} calls
+ * and concatenates the results. One instance may be shared across threads.
+ * <p>
+ * Invocations are bound according to the {@link Purity} of their placeholder - pure ones are
+ * folded into literal text at compile time, per-render ones are parsed once per render and
+ * time bounded ones are reused by every render until stale.
+ *
+ * @see Placeholder.Resolver#compile(String)
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class Template {
+  /**
+   * This class represents a single segment of a {@link Template}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static abstract class Segment {
+    private Segment() {}
+
+    /**
+     * Append this segment to the appendable passed.
+     *
+     * @param out {@link Appendable} the appendable to append to.
+     * @param customData {@link Object} the custom data for this render.
+     * @param listener {@link ResolveListener} the listener of invocations.
+     * @param shared {@link String} array of results shared by identical per-render invocations.
+     * @throws IOException if the appendable fails to be written.
+     */
+    abstract void render(Appendable out, Object customData, ResolveListener listener, String[] shared) throws IOException;
+
+    /**
+     * Get the length of this segment, or an estimate of it.
+     *
+     * @return {@link Integer}
+     */
+    abstract int length();
+  }
+
+  /**
+   * This class represents a literal run of a {@link Template}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Literal extends Segment {
+    /** {@link String} the text of this run. **/
+    public final String text;
+
+    private Literal(String text) {
+      this.text = text;
+    }
+
+    @Override
+    void render(Appendable out, Object customData, ResolveListener listener, String[] shared) throws IOException {
+      out.append(text);
+    }
+
+    @Override
+    int length() {
+      return text.length();
+    }
+  }
+
+  /**
+   * This class represents a bound placeholder invocation of a {@link Template}.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Invocation extends Segment {
+    /** {@link Placeholder} the placeholder to be invoked. **/
+    public final Placeholder placeholder;
+
+    /** {@link DefaultData} the pre-split data passed to the placeholder. **/
+    public final DefaultData defaultData;
+
+    /** {@link Purity} the purity of the placeholder at compile time. **/
+    public final Purity purity;
+
+    /** {@link Integer} the index of the result shared by identical per-render invocations, -1 if none. **/
+    private final int slot;
+
+    /** {@link Object} the invocation bound at compile time, null if the placeholder does not bind its invocations. **/
+    private final Object bound;
+
+    /** {@link Expiring} the last result of a time bounded invocation, null if none yet. **/
+    private volatile Expiring last;
+
+    private Invocation(Placeholder placeholder, DefaultData defaultData, Purity purity, int slot, Object bound) {
+      this.placeholder = placeholder;
+      this.defaultData = defaultData;
+      this.purity = purity;
+      this.slot = slot;
+      this.bound = bound;
+    }
+
+    @Override
+    void render(Appendable out, Object customData, ResolveListener listener, String[] shared) throws IOException {
+      switch (purity.kind) {
+        case PER_RENDER: {
+          var parsed = shared[slot];
+          if (parsed == null)
+            shared[slot] = parsed = this.parse(customData, listener);
+          out.append(parsed);
+          return;
+        }
+        case TIME_BOUNDED: {
+          final long now = System.nanoTime();
+          final var last = this.last;
+          if (last != null && now - last.written < purity.ttlNanos) {
+            out.append(last.value);
+            return;
+          }
+          final var parsed = this.parse(customData, listener);
+          this.last = new Expiring(parsed, now);
+          out.append(parsed);
+          return;
+        }
+        default:
+          this.parseInto(customData, listener, out);
+      }
+    }
+
+    /**
+     * Launch this invocation asynchronously.
+     * An invocation bound at compile time is parsed through its binding on the calling thread,
+     * as {@link Placeholder#parseAsync(Object, DefaultData)} does by default.
+     *
+     * @param shared {@link CompletableFuture} array of futures shared by identical per-render invocations.
+     */
+    CompletableFuture<?> renderAsync(Object customData, ResolveListener listener, CompletableFuture<?>[] shared) {
+      switch (purity.kind) {
+        case PER_RENDER: {
+          var launched = shared[slot];
+          if (launched == null)
+            shared[slot] = launched = this.launch(customData, listener);
+          return launched;
+        }
+        case TIME_BOUNDED: {
+          final long now = System.nanoTime();
+          final var last = this.last;
+          if (last != null && now - last.written < purity.ttlNanos)
+            return CompletableFuture.completedFuture(last.value);
+          return this
+            .launch(customData, listener)
+            .thenApply(parsed -> {
+              final var text = parsed.toString();
+              this.last = new Expiring(text, now);
+              return text;
+            });
+        }
+        default:
+          return this.launch(customData, listener);
+      }
+    }
+
+    /**
+     * Launch this invocation asynchronously, through its binding if any.
+     */
+    private CompletableFuture<?> launch(Object customData, ResolveListener listener) {
+      if (bound == null)
+        return Instrumentation.parseAsync(listener, placeholder, customData, defaultData);
+      try {
+        return CompletableFuture.completedFuture(this.parse(customData, listener));
+      } catch (IOException | RuntimeException exception) {
+        return CompletableFuture.failedFuture(exception);
+      }
+    }
+
+    /**
+     * Parse this invocation into a string.
+     */
+    private String parse(Object customData, ResolveListener listener) throws IOException {
+      final var builder = new StringBuilder();
+      this.parseInto(customData, listener, builder);
+      return builder.toString();
+    }
+
+    /**
+     * Parse this invocation into an appendable, through its binding if any.
+     */
+    private void parseInto(Object customData, ResolveListener listener, Appendable out) throws IOException {
+      if (bound == null)
+        Instrumentation.parseInto(listener, placeholder, customData, defaultData, out);
+      else
+        Instrumentation.parseBound(listener, (BindingPlaceholder<?>) placeholder, bound, customData, defaultData, out);
+    }
+
+    @Override
+    int length() {
+      return defaultData.origin.length();
+    }
+
+    /**
+     * This class represents the result of a time bounded invocation, along with when it was parsed.
+     *
+     * @author Oliwer - https://www.github.com/ImOliwer
+     */
+    private static final class Expiring {
+      private final String value;
+      private final long written;
+
+      private Expiring(String value, long written) {
+        this.value = value;
+        this.written = written;
+      }
+    }
+  }
+
+  /**
+   * This class represents the builder of a {@link Template}.
+   * Adjacent literal runs are merged into one.
+   *
+   * @author Oliwer - https://www.github.com/ImOliwer
+   */
+  public static final class Builder {
+    private final String origin;
+    private final List<Segment> segments = new ArrayList<>();
+    private final StringBuilder literal = new StringBuilder();
+
+    /** {@link Map} the slot of every distinct per-render invocation. **/
+    private final Map<Map.Entry<Placeholder, String>, Integer> slots = new HashMap<>();
+
+    private Builder(String origin) {
+      this.origin = origin;
+    }
+
+    /**
+     * Append a literal run to this template.
+     *
+     * @param text {@link CharSequence} the text to take the run from.
+     * @param start {@link Integer} the start index (inclusive).
+     * @param end {@link Integer} the end index (exclusive).
+     * @return {@link Builder} current instance.
+     */
+    public Builder literal(CharSequence text, int start, int end) {
+      literal.append(text, start, end);
+      return this;
+    }
+
+    /**
+     * @param text {@link CharSequence} the text of the run.
+     * @see Builder#literal(CharSequence, int, int)
+     * @return {@link Builder} current instance.
+     */
+    public Builder literal(CharSequence text) {
+      return this.literal(text, 0, text.length());
+    }
+
+    /**
+     * Append a bound placeholder invocation to this template.
+     * Invocations of a pure placeholder are parsed right away and appended as literal text,
+     * unless they fail to be parsed. Invocations of a {@link BindingPlaceholder} are bound once,
+     * malformed ones being appended as literal text.
+     *
+     * @param placeholder {@link Placeholder} the placeholder to be invoked.
+     * @param defaultData {@link DefaultData} the data to be passed on every render.
+     * @return {@link Builder} current instance.
+     * @see Placeholder#purity()
+     */
+    public Builder invocation(Placeholder placeholder, DefaultData defaultData) {
+      final var purity = placeholder.purity();
+
+      // fold
+      if (purity.kind == Purity.Kind.PURE) {
+        final int length = literal.length();
+        try {
+          placeholder.parseInto(null, defaultData, literal);
+          return this;
+        } catch (IOException | RuntimeException ignored) {
+          literal.setLength(length);
+        }
+      }
+
+      // bind the arguments once, writing malformed ones as is
+      Object bound = null;
+      if (placeholder instanceof BindingPlaceholder) {
+        bound = ((BindingPlaceholder<?>) placeholder).bind(defaultData);
+        if (bound == null) {
+          literal.append(defaultData.origin);
+          return this;
+        }
+      }
+
+      // identical per-render invocations share one slot
+      flush();
+      final int slot = purity.kind != Purity.Kind.PER_RENDER ? -1 : slots.computeIfAbsent(
+        Map.entry(placeholder, defaultData.origin),
+        $ -> slots.size()
+      );
+      segments.add(new Invocation(placeholder, defaultData, purity, slot, bound));
+      return this;
+    }
+
+    /**
+     * Build the template.
+     *
+     * @return {@link Template}
+     */
+    public Template build() {
+      flush();
+      return new Template(origin, segments.toArray(new Segment[0]), slots.size());
+    }
+
+    /**
+     * Flush the pending literal run into a segment.
+     */
+    private void flush() {
+      if (literal.length() == 0)
+        return;
+      segments.add(new Literal(literal.toString()));
+      literal.setLength(0);
+    }
+  }
+
+  /** {@link String} the origin this template was compiled from. **/
+  public final String origin;
+
+  /** {@link Segment} array of segments in order. **/
+  private final Segment[] segments;
+
+  /** {@link Integer} the estimated length of a render. **/
+  private final int estimatedLength;
+
+  /** {@link Boolean} whether this template holds no invocation at all. **/
+  private final boolean constant;
+
+  /** {@link Integer} the amount of distinct per-render invocations. **/
+  private final int slots;
+
+  private Template(String origin, Segment[] segments, int slots) {
+    this.origin = origin;
+    this.segments = segments;
+    this.slots = slots;
+
+    int estimatedLength = 0;
+    boolean constant = true;
+    for (final Segment segment : segments) {
+      estimatedLength += segment.length();
+      if (segment instanceof Invocation)
+        constant = false;
+    }
+    this.estimatedLength = estimatedLength;
+    this.constant = constant;
+  }
+
+  /**
+   * Create a new template builder.
+   *
+   * @param origin {@link String} the origin the template is compiled from.
+   * @return {@link Builder}
+   */
+  public static Builder builder(String origin) {
+    return new Builder(origin);
+  }
+
+  /**
+   * Render this template.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @return {@link String}
+   */
+  public String render(Object customData) {
+    return this.render(customData, ResolveListener.NONE);
+  }
+
+  /**
+   * Render this template, notifying a listener around every invocation.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @param listener {@link ResolveListener} the listener of invocations.
+   * @return {@link String}
+   */
+  public String render(Object customData, ResolveListener listener) {
+    // a template without invocations always renders the same
+    if (constant)
+      return segments.length == 0 ? "" : ((Literal) segments[0]).text;
+
+    // concatenate every segment
+    final var builder = Builders.acquire();
+    builder.ensureCapacity(estimatedLength + 16);
+    return Builders.release(this.renderInto(customData, builder, listener));
+  }
+
+  /**
+   * Render this template into an appendable.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @param out {@link Appendable} the appendable to write the render into.
+   * @return {@link Appendable} the appendable passed.
+   */
+  public <A extends Appendable> A renderInto(Object customData, A out) {
+    return this.renderInto(customData, out, ResolveListener.NONE);
+  }
+
+  /**
+   * Render this template into an appendable, notifying a listener around every invocation.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @param out {@link Appendable} the appendable to write the render into.
+   * @param listener {@link ResolveListener} the listener of invocations.
+   * @return {@link Appendable} the appendable passed.
+   */
+  public <A extends Appendable> A renderInto(Object customData, A out, ResolveListener listener) {
+    try {
+      final var shared = slots == 0 ? null : new String[slots];
+      for (final Segment segment : segments)
+        segment.render(out, customData, listener, shared);
+      return out;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Render this template asynchronously, launching every invocation at once.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @return {@link CompletableFuture} the future of the render.
+   * @see Placeholder#parseAsync(Object, DefaultData)
+   */
+  public CompletableFuture<String> renderAsync(Object customData) {
+    return this.renderAsync(customData, ResolveListener.NONE);
+  }
+
+  /**
+   * Render this template asynchronously, notifying a listener as every invocation completes.
+   *
+   * @param customData {@link Object} the custom data for this render.
+   * @param listener {@link ResolveListener} the listener of invocations.
+   * @return {@link CompletableFuture} the future of the render.
+   */
+  public CompletableFuture<String> renderAsync(Object customData, ResolveListener listener) {
+    // a template without invocations always renders the same
+    if (constant)
+      return CompletableFuture.completedFuture(this.render(customData));
+
+    // launch every invocation
+    final var futures = new CompletableFuture<?>[segments.length];
+    final var shared = slots == 0 ? null : new CompletableFuture<?>[slots];
+    int pending = 0;
+    for (int index = 0; index < segments.length; index++) {
+      final var segment = segments[index];
+      if (segment instanceof Invocation)
+        futures[pending++] = ((Invocation) segment).renderAsync(customData, listener, shared);
+    }
+
+    // assemble once every invocation has completed
+    final var launched = pending == futures.length ? futures : Arrays.copyOf(futures, pending);
+    return CompletableFuture
+      .allOf(launched)
+      .thenApply($ -> {
+        final var builder = new StringBuilder(estimatedLength + 16);
+        int next = 0;
+        for (final Segment segment : segments) {
+          if (segment instanceof Literal)
+            builder.append(((Literal) segment).text);
+          else
+            builder.append(launched[next++].join().toString());
+        }
+        return builder.toString();
+      });
+  }
+
+  /**
+   * @see Template#render(Object)
+   * @return {@link String}
+   */
+  public String render() {
+    return this.render(null);
+  }
+
+  /**
+   * Get the segments of this template.
+   *
+   * @return {@link List} an unmodifiable view of the segments.
+   */
+  public List<Segment> segments() {
+    return List.of(segments);
+  }
+}
@@ -0,0 +1,112 @@
+package xyz.oliwer.placeholder.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.metrics.CacheSnapshot;
+
+import java.util.function.Function;
+
+/**
+ * This class represents the bounded cache of compiled {@link Template}s keyed by origin.
+ * Entries are weighed by the length of their origin.
+ *
+ * @see Placeholder.Resolver#withTemplateCache(long)
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+public final class TemplateCache {
+  /** {@link Long} the maximum total length of cached origins. **/
+  private final long maximumWeight;
+
+  /** {@link Function} the compiler of templates on a miss. **/
+  private final Function<String, Template> compiler;
+
+  /** {@link Cache} the current cache, replaced on invalidation. **/
+  private volatile Cache<String, Template> cache;
+
+  /** {@link CacheStats} the statistics of the previously replaced caches. **/
+  private CacheStats previousStats = CacheStats.empty();
+
+  /**
+   * Primary constructor.
+   *
+   * @param maximumWeight {@link Long} the maximum total length of cached origins.
+   * @param compiler {@link Function} the compiler of templates on a miss.
+   */
+  public TemplateCache(long maximumWeight, Function<String, Template> compiler) {
+    this.maximumWeight = maximumWeight;
+    this.compiler = compiler;
+    this.cache = this.newCache();
+  }
+
+  /**
+   * Get the template of an origin, compiling it on a miss.
+   *
+   * @param origin {@link String} the origin of the template.
+   * @return {@link Template}
+   */
+  public Template get(String origin) {
+    return cache.get(origin, compiler);
+  }
+
+  /**
+   * Invalidate every cached template.
+   * A fresh cache is swapped in, so compilations in flight cannot re-populate stale entries.
+   */
+  public synchronized void invalidateAll() {
+    final var previous = this.cache;
+    this.cache = this.newCache();
+    this.previousStats = previousStats.plus(previous.stats());
+    previous.invalidateAll();
+  }
+
+  /**
+   * Get the amount of lookups served from the cache.
+   *
+   * @return {@link Long}
+   */
+  public long hitCount() {
+    return this.stats().hitCount();
+  }
+
+  /**
+   * Get the amount of lookups which had to compile.
+   *
+   * @return {@link Long}
+   */
+  public long missCount() {
+    return this.stats().missCount();
+  }
+
+  /**
+   * Get the approximate amount of cached templates.
+   *
+   * @return {@link Long}
+   */
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Get the accumulated statistics of this cache.
+   *
+   * @return {@link CacheSnapshot}
+   */
+  public synchronized CacheSnapshot stats() {
+    final var stats = previousStats.plus(cache.stats());
+    return new CacheSnapshot(stats.hitCount(), stats.missCount(), stats.loadCount(), stats.evictionCount());
+  }
+
+  /**
+   * Create a new underlying cache.
+   */
+  private Cache<String, Template> newCache() {
+    return Caffeine
+      .newBuilder()
+      .maximumWeight(maximumWeight)
+      .weigher((String origin, Template template) -> origin.length())
+      .recordStats()
+      .build();
+  }
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import xyz.oliwer.placeholder.def.AddressAlivePlaceholder;
+import xyz.oliwer.placeholder.parser.ScanningResolver;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static xyz.oliwer.placeholder.Placeholder.Resolver;
+
+/**
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class AddressAlivePlaceholderTest {
+  @Test
+  void address_alive_parallel() throws IOException {
+    // listeners - half of them are closed again, leaving a refused port behind
+    final var builder = new StringBuilder();
+    final var expected = new StringBuilder();
+    final var listeners = new ServerSocketChannel[20];
+    for (int index = 0; index < listeners.length; index++) {
+      listeners[index] = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+      final int port = ((InetSocketAddress) listeners[index].getLocalAddress()).getPort();
+      builder.append(format("<address_alive(127.0.0.1,%s,up,down)> ", port));
+      expected.append(index % 2 == 0 ? "up " : "down ");
+      if (index % 2 != 0)
+        listeners[index].close();
+    }
+
+    final var placeholder = AddressAlivePlaceholder
+      .builder()
+      .cacheTtl(Duration.ofMinutes(1))
+      .build();
+    final Resolver<ScanningResolver.Wrapper> resolver = new ScanningResolver('<', '>').withPlaceholder(placeholder);
+
+    // response
+    final long start = System.nanoTime();
+    final String response = resolver.resolveAllAsync(builder.toString()).join();
+    final long end = System.nanoTime();
+
+    // result - liveness is read from the cache once the listeners are gone
+    assertEquals(expected.toString(), response);
+    for (final ServerSocketChannel listener : listeners)
+      listener.close();
+    assertEquals(expected.toString(), resolver.resolveAll(builder.toString()));
+
+    placeholder.destroy();
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void address_alive_malformed_port() throws IOException {
+    // listener
+    final var listener = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+    final int port = ((InetSocketAddress) listener.getLocalAddress()).getPort();
+    final String query = format("<address_alive(127.0.0.1,%s,up,down)> <address_alive(127.0.0.1,x,up,down)> <address_alive(127.0.0.1,70000,up,down)>", port);
+
+    final var placeholder = AddressAlivePlaceholder.builder().build();
+    final Resolver<ScanningResolver.Wrapper> resolver = new ScanningResolver('<', '>').withPlaceholder(placeholder);
+
+    // response - a malformed port renders the false value without failing the other probes
+    final String async = resolver.resolveAllAsync(query).join();
+    final String sync = resolver.resolveAll(query);
+
+    // result
+    assertEquals("up down down", async);
+    assertEquals("up down down", sync);
+    listener.close();
+    placeholder.destroy();
+  }
+
+  @Test
+  void address_alive_reprobe() throws Exception {
+    // listener
+    final var listener = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+    final int port = ((InetSocketAddress) listener.getLocalAddress()).getPort();
+    final String query = format("<address_alive(127.0.0.1,%s,up,down)>", port);
+
+    final var placeholder = AddressAlivePlaceholder
+      .builder()
+      .cacheTtl(Duration.ofMinutes(1))
+      .reprobeEvery(Duration.ofMillis(50), Duration.ofMinutes(1))
+      .build();
+    final Resolver<ScanningResolver.Wrapper> resolver = new ScanningResolver('<', '>').withPlaceholder(placeholder);
+
+    // response - the background re-probe notices the listener going away
+    assertEquals("up", resolver.resolveAll(query));
+    listener.close();
+    Thread.sleep(300);
+    final String response = resolver.resolveAll(query);
+
+    // result
+    assertEquals("down", response);
+    placeholder.destroy();
+    System.out.println(response);
+  }
+}
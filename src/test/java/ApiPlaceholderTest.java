@@ -0,0 +1,504 @@
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import xyz.oliwer.placeholder.data.Deadline;
+import xyz.oliwer.placeholder.def.ApiPlaceholder;
+import xyz.oliwer.placeholder.def.CircuitBreaker;
+import xyz.oliwer.placeholder.json.JsonPath;
+import xyz.oliwer.placeholder.json.impl.JsoniterParser;
+import xyz.oliwer.placeholder.parser.ScanningResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static xyz.oliwer.placeholder.Placeholder.Resolver;
+
+/**
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ApiPlaceholderTest {
+  private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger slowRequests = new AtomicInteger();
+  private final AtomicInteger nestedRequests = new AtomicInteger();
+  private final AtomicInteger hotRequests = new AtomicInteger();
+  private final Semaphore hotServed = new Semaphore(0);
+  private final CountDownLatch stalled = new CountDownLatch(1);
+  private final AtomicInteger persistedRequests = new AtomicInteger();
+  private final AtomicInteger unavailableRequests = new AtomicInteger();
+  private final AtomicInteger malformedRequests = new AtomicInteger();
+  private final AtomicInteger flakyRequests = new AtomicInteger();
+  private final AtomicBoolean flaky = new AtomicBoolean();
+  private HttpServer server;
+  private ApiPlaceholder placeholder;
+  private Resolver<ScanningResolver.Wrapper> resolver;
+
+  @BeforeAll
+  void start() throws IOException {
+    // stub server answering with the path requested, remembering every client port
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      connections.add(exchange.getRemoteAddress().getPort());
+      final var body = format("{\"path\":\"%s\"}", exchange.getRequestURI().getPath()).getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/slow/", exchange -> {
+      slowRequests.incrementAndGet();
+      try {
+        Thread.sleep(300);
+      } catch (InterruptedException ignored) {}
+      final var body = "{\"value\":\"slow\"}".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/stalled/", exchange -> {
+      try {
+        stalled.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException ignored) {}
+      final var body = "{\"value\":\"stalled\"}".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/nested/", exchange -> {
+      nestedRequests.incrementAndGet();
+      final var body = "{\"users\":[{\"name\":\"a\"},{\"name\":\"b\",\"tags\":[1,2]}]}".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/hot/", exchange -> {
+      final var body = format("{\"value\":\"%s\"}", hotRequests.incrementAndGet()).getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+      hotServed.release();
+    });
+    server.createContext("/persisted/", exchange -> {
+      final var body = format("{\"value\":\"%s\"}", persistedRequests.incrementAndGet()).getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/unavailable/", exchange -> {
+      unavailableRequests.incrementAndGet();
+      final var body = "{\"value\":\"unavailable\"}".getBytes(UTF_8);
+      exchange.sendResponseHeaders(503, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/malformed/", exchange -> {
+      malformedRequests.incrementAndGet();
+      final var body = "<html>".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/flaky/", exchange -> {
+      // while flaky, the connection is dropped without an answer
+      flakyRequests.incrementAndGet();
+      if (flaky.get()) {
+        exchange.close();
+        return;
+      }
+      final var body = "{\"value\":\"up\"}".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final var out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+
+    placeholder = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+    resolver = new ScanningResolver('<', '>').withPlaceholder(placeholder);
+  }
+
+  @AfterAll
+  void stop() {
+    stalled.countDown();
+    placeholder.destroy();
+    server.stop(0);
+  }
+
+  @Test
+  void api_connection_reuse() {
+    // query
+    final String endpoint = "<api(http://127.0.0.1:%s/%s,path,GET,accept=json,none=none)>";
+    final int port = server.getAddress().getPort();
+
+    // response - distinct endpoints, so none are served from the cache
+    final long start = System.nanoTime();
+    for (int index = 0; index < 5; index++)
+      assertEquals("/" + index, resolver.resolveAll(format(endpoint, port, index)));
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals(1, connections.size());
+    System.out.printf("%s connection(s) (%sns)%n", connections.size(), end - start);
+  }
+
+  @Test
+  void api_single_flight() {
+    // query
+    final String query = format("<api(http://127.0.0.1:%s/slow/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+
+    // response - every concurrent miss joins the request in flight
+    final long start = System.nanoTime();
+    final var responses = IntStream
+      .range(0, 8)
+      .mapToObj($ -> resolver.resolveAllAsync(query))
+      .collect(Collectors.toList());
+    responses.forEach(response -> assertEquals("slow", response.join()));
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals(1, slowRequests.get());
+    System.out.printf("%s request(s) (%sns)%n", slowRequests.get(), end - start);
+  }
+
+  @Test
+  void api_deadline() {
+    // query
+    final String query = format("a <api(http://127.0.0.1:%s/stalled/,value,GET,accept=json,none=none)> b", server.getAddress().getPort());
+    final var withFallback = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .version(HttpClient.Version.HTTP_1_1)
+      .fallback("n/a")
+      .build();
+    final var fallbackResolver = new ScanningResolver('<', '>').withPlaceholder(withFallback);
+
+    // response - the upstream stalls until released, so it is given up on once the budget has passed
+    final String response;
+    final String async;
+    try {
+      response = fallbackResolver.resolveAll(query, null, Duration.ofMillis(100));
+      async = fallbackResolver.resolveAllAsync(query, null, Duration.ofMillis(100)).join();
+    } finally {
+      stalled.countDown();
+    }
+
+    // result - the fallback is rendered, the origin without one
+    assertEquals("a n/a b", response);
+    assertEquals("a n/a b", async);
+    final var expired = resolver.resolveAll(query, null, Duration.ZERO);
+    assertEquals(query, expired);
+    assertEquals(Deadline.NONE, Deadline.current());
+    withFallback.destroy();
+  }
+
+  @Test
+  void api_circuit_breaker() {
+    // query
+    final String query = format("<api(http://127.0.0.1:%s/flaky/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final var key = "http://127.0.0.1:" + server.getAddress().getPort();
+    final var now = new AtomicLong();
+    final var transitions = Collections.synchronizedList(new ArrayList<String>());
+    final var breaker = CircuitBreaker
+      .builder()
+      .failureThreshold(2)
+      .failureTtl(Duration.ZERO)
+      .openDuration(Duration.ofSeconds(30))
+      .ticker(now::get)
+      .listener(($, previous, next) -> transitions.add(previous + ">" + next))
+      .build();
+    final var guarded = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .version(HttpClient.Version.HTTP_1_1)
+      .circuitBreaker(breaker)
+      .build();
+    final var guardedResolver = new ScanningResolver('<', '>').withPlaceholder(guarded);
+
+    // response - consecutive failures open the circuit, which then fails fast without a request
+    flaky.set(true);
+    assertEquals(query, guardedResolver.resolveAll(query));
+    assertEquals(query, guardedResolver.resolveAll(query));
+    final int failedRequests = flakyRequests.get();
+    final String rejected = guardedResolver.resolveAll(query);
+    final int rejectedRequests = flakyRequests.get();
+    final var open = breaker.state(key);
+
+    // the host comes back, and the trial once the circuit has been open long enough closes it
+    flaky.set(false);
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    final String recovered = guardedResolver.resolveAll(query);
+    guarded.destroy();
+
+    // result
+    assertEquals(query, rejected);
+    assertEquals(failedRequests, rejectedRequests);
+    assertEquals(failedRequests + 1, flakyRequests.get());
+    assertEquals(CircuitBreaker.State.OPEN, open);
+    assertEquals("up", recovered);
+    assertEquals(List.of("CLOSED>OPEN", "OPEN>HALF_OPEN", "HALF_OPEN>CLOSED"), transitions);
+  }
+
+  @Test
+  void api_circuit_breaker_trial() {
+    // query
+    final var now = new AtomicLong();
+    final var breaker = CircuitBreaker
+      .builder()
+      .failureThreshold(1)
+      .failureTtl(Duration.ZERO)
+      .openDuration(Duration.ofSeconds(30))
+      .ticker(now::get)
+      .build();
+
+    // response - a failure is cached for its endpoint only, without opening the circuit
+    final var negative = CircuitBreaker.builder().failureThreshold(2).failureTtl(Duration.ofMinutes(1)).build();
+    negative.onFailure("host", "host/a");
+    final boolean cached = negative.tryAcquire("host", "host/a");
+    final boolean sibling = negative.tryAcquire("host", "host/b");
+    final var belowThreshold = negative.state("host");
+    negative.onFailure("host", "host/b");
+
+    // a trial never completing opens the circuit again once the open duration has passed
+    breaker.onFailure("host");
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+    final boolean trial = breaker.tryAcquire("host");
+    final boolean duringTrial = breaker.tryAcquire("host");
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+    final boolean afterTrial = breaker.tryAcquire("host");
+    final var reopened = breaker.state("host");
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    // result
+    assertFalse(cached);
+    assertTrue(sibling);
+    assertEquals(CircuitBreaker.State.CLOSED, belowThreshold);
+    assertEquals(CircuitBreaker.State.OPEN, negative.state("host"));
+    assertFalse(negative.tryAcquire("host", "host/c"));
+    assertTrue(trial);
+    assertFalse(duringTrial);
+    assertFalse(afterTrial);
+    assertEquals(CircuitBreaker.State.OPEN, reopened);
+    assertTrue(breaker.tryAcquire("host"));
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state("host"));
+  }
+
+  @Test
+  void api_prefetch() throws InterruptedException {
+    // scheduler handing every prefetch to the test rather than running it
+    final var rounds = new AtomicReference<Runnable>();
+    final var scheduler = new ScheduledThreadPoolExecutor(1) {
+      @Override
+      public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        rounds.set(command);
+        return super.schedule(() -> {}, 1, TimeUnit.DAYS);
+      }
+    };
+
+    // query
+    final String query = format("<api(http://127.0.0.1:%s/hot/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final var prefetching = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .version(HttpClient.Version.HTTP_1_1)
+      .refreshAhead(Duration.ZERO)
+      .prefetchEvery(Duration.ofSeconds(1), 4)
+      .prefetchScheduler(scheduler)
+      .build();
+    final var prefetchingResolver = new ScanningResolver('<', '>').withPlaceholder(prefetching);
+
+    // response - the endpoint rendered is re-fetched, and stays hot while rendered
+    final String response = prefetchingResolver.resolveAll(query);
+    rounds.get().run();
+    final boolean prefetched = hotServed.tryAcquire(2, 10, TimeUnit.SECONDS);
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      while (!prefetchingResolver.resolveAll(query).equals("2"))
+        Thread.onSpinWait();
+    });
+    rounds.get().run();
+    final boolean prefetchedAgain = hotServed.tryAcquire(10, TimeUnit.SECONDS);
+
+    // then goes cold without renders, and is no longer re-fetched
+    rounds.get().run();
+    rounds.get().run();
+    prefetching.destroy();
+    scheduler.shutdownNow();
+
+    // result
+    assertEquals("1", response);
+    assertTrue(prefetched);
+    assertTrue(prefetchedAgain);
+    assertEquals(3, hotRequests.get());
+  }
+
+  @Test
+  void api_persistent_cache() throws IOException {
+    // query
+    final String query = format("<api(http://127.0.0.1:%s/persisted/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final String unavailable = format("<api(http://127.0.0.1:%s/unavailable/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final String malformed = format("<api(http://127.0.0.1:%s/malformed/,value,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final var file = Files.createTempDirectory("api-placeholder").resolve("responses.log");
+
+    // response - destroying a placeholder waits for its pending writes
+    final var first = ApiPlaceholder.builder(new JsoniterParser()).persistentCache(file).build();
+    final var firstResolver = new ScanningResolver('<', '>').withPlaceholder(first);
+    final String fetched = firstResolver.resolveAll(query);
+    final String unavailableFetched = firstResolver.resolveAll(unavailable);
+    firstResolver.resolveAll(malformed);
+    first.destroy();
+
+    // a restarted placeholder reads the successful response persisted by the previous one, and only that
+    final var restarted = ApiPlaceholder.builder(new JsoniterParser()).persistentCache(file).build();
+    final var restartedResolver = new ScanningResolver('<', '>').withPlaceholder(restarted);
+    final String response = restartedResolver.resolveAll(query);
+    restartedResolver.resolveAll(unavailable);
+    restartedResolver.resolveAll(malformed);
+    restarted.destroy();
+
+    // a torn write is discarded, leaving the records before it intact
+    final long intact = Files.size(file);
+    Files.write(file, new byte[] { 0x52, 0x53, 0x54, 0x31, 0, 0, 0 }, StandardOpenOption.APPEND);
+    final var recovered = ApiPlaceholder.builder(new JsoniterParser()).persistentCache(file).build();
+    final String afterCrash = new ScanningResolver('<', '>').withPlaceholder(recovered).resolveAll(query);
+    recovered.destroy();
+    final long truncated = Files.size(file);
+
+    // so is a whole record failing its checksum, even when it supersedes an intact one
+    final var corrupt = Files.readAllBytes(file);
+    corrupt[4] ^= 1;
+    Files.write(file, corrupt, StandardOpenOption.APPEND);
+    final var verified = ApiPlaceholder.builder(new JsoniterParser()).persistentCache(file).build();
+    final String afterCorruption = new ScanningResolver('<', '>').withPlaceholder(verified).resolveAll(query);
+    verified.destroy();
+    final long checked = Files.size(file);
+
+    // an expired response is fetched again
+    final var expiring = ApiPlaceholder
+      .builder(new JsoniterParser())
+      .expireAfterWrite(Duration.ofMillis(1))
+      .refreshAhead(Duration.ZERO)
+      .persistentCache(file)
+      .build();
+    final String expired = new ScanningResolver('<', '>').withPlaceholder(expiring).resolveAll(query);
+    expiring.destroy();
+
+    // a placeholder failing to build leaves no store behind
+    assertThrows(IllegalArgumentException.class, () -> ApiPlaceholder
+      .builder(new JsoniterParser())
+      .refreshAhead(Duration.ofMinutes(10))
+      .persistentCache(file)
+      .build()
+    );
+    final boolean storeLeaked = Thread
+      .getAllStackTraces()
+      .keySet()
+      .stream()
+      .anyMatch(thread -> thread.getName().equals("api-placeholder-store"));
+
+    // result
+    assertEquals("1", fetched);
+    assertEquals("unavailable", unavailableFetched);
+    assertEquals("1", response);
+    assertEquals(2, unavailableRequests.get());
+    assertEquals(2, malformedRequests.get());
+    assertEquals("1", afterCrash);
+    assertEquals(intact, truncated);
+    assertEquals("1", afterCorruption);
+    assertEquals(intact, checked);
+    assertEquals("2", expired);
+    assertEquals(2, persistedRequests.get());
+    assertFalse(storeLeaked);
+  }
+
+  @Test
+  void api_shared_paths() {
+    // query
+    final String endpoint = format("<api(http://127.0.0.1:%s/nested/,%%s,GET,accept=json,none=none)>", server.getAddress().getPort());
+    final var paths = List.of("users.[0].name", "users.[1].name", "users.[1].tags.[1]", "users.[1].tags");
+    final var expected = List.of("a", "b", "2", "[1,2]");
+
+    // response - one cached tree navigated concurrently along every path
+    final long start = System.nanoTime();
+    final var responses = IntStream
+      .range(0, 400)
+      .parallel()
+      .mapToObj(index -> resolver.resolveAll(format(endpoint, paths.get(index % paths.size()))))
+      .collect(Collectors.toList());
+    final long end = System.nanoTime();
+
+    // result
+    for (int index = 0; index < responses.size(); index++)
+      assertEquals(expected.get(index % expected.size()), responses.get(index));
+    assertEquals(1, nestedRequests.get());
+    System.out.printf("%s responses (%sns)%n", responses.size(), end - start);
+  }
+
+  @Test
+  void api_extract() throws IOException {
+    // query
+    final var parser = new JsoniterParser();
+    final var body = "{\"skip\":{\"deep\":[1,{\"x\":\"y\"}]},\"users\":[{\"name\":\"a\"},{\"name\":\"b\",\"tags\":[1,2]}],\"n\":1.5}".getBytes(UTF_8);
+    final var paths = List.of("users.[1].name", "users.[1]", "users.[1].tags.[0]", "n", "missing.key", "")
+      .stream()
+      .map(JsonPath::compile)
+      .collect(Collectors.toList());
+
+    // response
+    final long start = System.nanoTime();
+    final var extracted = parser.extract(body, paths);
+    final long end = System.nanoTime();
+
+    // result - a single pass matches navigating the whole tree
+    final var root = parser.deserialize(new String(body, UTF_8));
+    for (final JsonPath path : paths)
+      assertEquals(path.resolve(root).toString(), extracted.getOrDefault(path, ""));
+    assertEquals(extracted, parser.extract(new ByteArrayInputStream(body), paths));
+
+    // values cached per path without the body
+    final var perPath = ApiPlaceholder
+      .builder(parser)
+      .retainBody(false)
+      .build();
+    final String query = format("<api(http://127.0.0.1:%s/nested/,users.[0].name,GET,accept=json,none=none)>", server.getAddress().getPort());
+    assertEquals("a", new ScanningResolver('<', '>').withPlaceholder(perPath).resolveAll(query));
+    perPath.destroy();
+    System.out.printf("%s paths (%sns)%n", extracted.size(), end - start);
+  }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import xyz.oliwer.placeholder.json.JsonParser;
+import xyz.oliwer.placeholder.json.JsonPath;
+import xyz.oliwer.placeholder.json.impl.JsoniterParser;
+import xyz.oliwer.placeholder.json.impl.TapeParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Oliwer - https://www.github.com/ImOliwer
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class JsonParserTest {
+  private final JsonParser jsoniter = new JsoniterParser();
+  private final JsonParser tape = new TapeParser();
+
+  @Test
+  void tape_equivalence() {
+    // query
+    final var content = "{ \"users\" : [ {\"name\":\"a\",\"age\":3}, {\"name\":\"b\\\"\\n\\u00e9\\ud83d\\ude00\",\"tags\":[1, -2.5e3, true, null]} ],"
+      + "\"empty\":{}, \"none\":[], \"n\":0.25, \"key with \\\"quote\\\"\":1, \"\u00e5\":\"\u00e4\", \"flag\":false }";
+    final var paths = List.of(
+      "users.[0].name", "users.[1].name", "users.[1].tags.[1]", "users.[1].tags.[2]", "users.[1].tags.[3]",
+      "users.[2]", "users.[-1]", "users.[0].missing", "n", "n.key", "key with \"quote\"", "flag", "missing.key"
+    );
+
+    // response
+    final long start = System.nanoTime();
+    final var root = tape.deserialize(content);
+    final var rendered = paths
+      .stream()
+      .map(path -> JsonPath.compile(path).resolve(root).toString())
+      .collect(Collectors.toList());
+    final long end = System.nanoTime();
+
+    // result - every scalar renders as navigated by jsoniter
+    final var expected = jsoniter.deserialize(content);
+    for (int index = 0; index < paths.size(); index++)
+      assertEquals(JsonPath.compile(paths.get(index)).resolve(expected).toString(), rendered.get(index), paths.get(index));
+
+    // containers render as their raw text, keys decoded as UTF-8
+    assertEquals("[1, -2.5e3, true, null]", root.get("users").get(1).get("tags").toString());
+    assertEquals("{}", root.get("empty").toString());
+    assertEquals("[]", root.get("none").toString());
+    assertEquals("\u00e4", root.get("\u00e5").toString());
+    System.out.printf("%s (%sns)%n", rendered, end - start);
+  }
+
+  @Test
+  void tape_extract() {
+    // query
+    final var body = "{\"skip\":{\"deep\":[1,{\"x\":\"y\"}]},\"users\":[{\"name\":\"a\"},{\"name\":\"b\",\"tags\":[1,2]}],\"n\":1.5}".getBytes(UTF_8);
+    final var paths = List.of("users.[1].name", "users.[1]", "users.[1].tags.[0]", "n", "missing.key", "")
+      .stream()
+      .map(JsonPath::compile)
+      .collect(Collectors.toList());
+
+    // response
+    final long start = System.nanoTime();
+    final var extracted = tape.extract(body, paths);
+    final long end = System.nanoTime();
+
+    // result
+    final var expected = jsoniter.extract(body, paths);
+    for (final JsonPath path : paths)
+      assertEquals(expected.getOrDefault(path, ""), extracted.getOrDefault(path, ""), path.path);
+    System.out.printf("%s paths (%sns)%n", extracted.size(), end - start);
+  }
+
+  @Test
+  void tape_malformed() {
+    // query
+    final var malformed = List.of("", "{", "[1,]", "{\"a\" 1}", "{\"a\":1,}", "[1 2]", "\"open", "tru", "01", "1.", "{} {}", "[\"\n\"]", "\"\\u12\"", "\"\\u12G4\"", "\"\\x\"", "\"\\");
+
+    // result - malformed content is refused as jsoniter's extraction does
+    for (final String content : malformed)
+      assertThrows(IllegalArgumentException.class, () -> tape.deserialize(content), content);
+  }
+
+  @Test
+  void tape_serialize() {
+    // query
+    final var body = new LinkedHashMap<String, Object>();
+    body.put("text", "a\"b\\c\n");
+    body.put("number", 1.5);
+    body.put("flag", true);
+    body.put("none", null);
+    body.put("list", List.of(1, "two"));
+    body.put("array", new int[] { 3, 4 });
+
+    // response
+    final var serialized = tape.serialize(body);
+
+    // result - serialized content reads back the same
+    final var root = tape.deserialize(serialized);
+    assertEquals("{\"text\":\"a\\\"b\\\\c\\n\",\"number\":1.5,\"flag\":true,\"none\":null,\"list\":[1,\"two\"],\"array\":[3,4]}", serialized);
+    assertEquals("a\"b\\c\n", root.get("text").toString());
+    assertEquals("two", root.get("list").get(1).toString());
+    System.out.println(serialized);
+  }
+}
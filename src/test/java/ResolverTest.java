@@ -1,15 +1,46 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
+import xyz.oliwer.placeholder.BindingPlaceholder;
+import xyz.oliwer.placeholder.CachingPlaceholder;
+import xyz.oliwer.placeholder.Placeholder;
+import xyz.oliwer.placeholder.Purity;
+import xyz.oliwer.placeholder.data.DefaultData;
 import xyz.oliwer.placeholder.def.AddressAlivePlaceholder;
 import xyz.oliwer.placeholder.def.ApiPlaceholder;
 import xyz.oliwer.placeholder.def.RandomPlaceholder;
 import xyz.oliwer.placeholder.def.RangePlaceholder;
 import xyz.oliwer.placeholder.json.impl.JsoniterParser;
+import xyz.oliwer.placeholder.metrics.HistogramListener;
 import xyz.oliwer.placeholder.parser.PatternResolver;
+import xyz.oliwer.placeholder.parser.ScanningResolver;
+import xyz.oliwer.placeholder.parser.StreamResolver;
+import xyz.oliwer.placeholder.template.Template;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static xyz.oliwer.placeholder.Placeholder.Resolver;
+import static xyz.oliwer.placeholder.metrics.ResolveListener.Outcome;
 
 /**
  * @author Oliwer - https://www.github.com/ImOliwer
@@ -19,6 +50,9 @@ public class ResolverTest {
   private static final Resolver<PatternResolver.Wrapper> PATTERN_RESOLVER = new PatternResolver('<', '>')
     .withDefault(new JsoniterParser());
 
+  private static final Resolver<ScanningResolver.Wrapper> SCANNING_RESOLVER = new ScanningResolver('<', '>')
+    .withDefault(new JsoniterParser());
+
   @Test
   void pattern_api() {
     // query
@@ -77,4 +111,584 @@ public class ResolverTest {
     // result
     System.out.printf("%s (%sns)%n", response, end - start);
   }
-}
\ No newline at end of file
+
+  @Test
+  void scanning_equivalence() {
+    // query
+    final String query = "<random(5)> of <range(single,3,4)>, <unknown(1)> <random(,,)> <random()> <<range(single,7,8)>)> <range(single";
+
+    // response
+    final long start = System.nanoTime();
+    final String response = SCANNING_RESOLVER.resolveAll(query);
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals(PATTERN_RESOLVER.resolveAll(query), response);
+    assertEquals(
+      PATTERN_RESOLVER.resolveSingle(query, RandomPlaceholder.class),
+      SCANNING_RESOLVER.resolveSingle(query, RandomPlaceholder.class)
+    );
+    assertEquals(
+      PATTERN_RESOLVER.resolveAllWithout(query, Set.of(RangePlaceholder.class)),
+      SCANNING_RESOLVER.resolveAllWithout(query, Set.of(RangePlaceholder.class))
+    );
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void scanning_compile() {
+    // query
+    final String query = "<random(5)> of <range(single,3,4)>, <unknown(1)> <random(,,)> <random()>";
+    final Template template = SCANNING_RESOLVER.compile(query);
+
+    // response
+    final long start = System.nanoTime();
+    final String response = template.render();
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals(SCANNING_RESOLVER.resolveAll(query), response);
+    assertEquals(PATTERN_RESOLVER.resolveAll(query), PATTERN_RESOLVER.compile(query).render());
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void pattern_template_cache() {
+    // query - a placeholder emitting the syntax of a later one
+    final var resolver = new PatternResolver('<', '>')
+      .withPlaceholder(new EmitPlaceholder())
+      .withPlaceholder(new RandomPlaceholder());
+    final String query = "<emit(x)>";
+
+    // response - re-scanned without the cache, asynchronously too, bound against the origin once opted in
+    final String uncached = resolver.resolveAll(query);
+    final String uncachedAsync = resolver.resolveAllAsync(query).join();
+    assertThrows(IllegalStateException.class, () -> resolver.withTemplateCache(1_024));
+    final String cached = resolver.withTemplateCache(1_024, true).resolveAll(query);
+
+    // result
+    assertEquals("5", uncached);
+    assertEquals("5", uncachedAsync);
+    assertEquals("<random(5)>", cached);
+  }
+
+  @Test
+  void scanning_template_cache() {
+    // query
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RandomPlaceholder())
+      .withTemplateCache(1_024);
+    final String query = "<random(5)> and <echo(a,b)>";
+
+    // response
+    resolver.resolveAll(query);
+    final long start = System.nanoTime();
+    final String response = resolver.resolveAll(query);
+    final long end = System.nanoTime();
+
+    // result
+    final var cache = resolver.templateCache();
+    assertEquals("5 and <echo(a,b)>", response);
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+
+    // a registry change must invalidate the compiled template
+    resolver.withPlaceholder(new EchoPlaceholder());
+    assertEquals("5 and a;b", resolver.resolveAll(query));
+    assertEquals(2, cache.missCount());
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void scanning_into() {
+    // query
+    final String query = "apple pies are a <range(single,7,8)>/10, <random(yes)>";
+    final StringBuilder out = new StringBuilder("> ");
+
+    // response
+    final long start = System.nanoTime();
+    SCANNING_RESOLVER.resolveAllInto(query, null, out);
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals("> apple pies are a 7/10, yes", out.toString());
+    assertEquals(
+      "apple pies are a 7/10, <random(yes)>",
+      SCANNING_RESOLVER.resolveSingleInto(query, null, RangePlaceholder.class, new StringBuilder()).toString()
+    );
+    assertEquals(
+      PATTERN_RESOLVER.resolveAll(query),
+      PATTERN_RESOLVER.resolveAllInto(query, null, new StringBuilder()).toString()
+    );
+    System.out.printf("%s (%sns)%n", out, end - start);
+  }
+
+  @Test
+  void scanning_stream() throws IOException {
+    // query
+    final String query = "<random(5)> of <range(single,3,4)>,\n<echo(a,b)> <random(a very long option)> <random(x\n)> <random(y)>";
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RandomPlaceholder())
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new EchoPlaceholder());
+    final Path file = Files.createTempFile("placeholder", ".txt");
+    Files.writeString(file, query.repeat(64));
+
+    // response
+    final var out = new StringWriter();
+    final long start = System.nanoTime();
+    new StreamResolver(resolver, 3, 32).resolveAll(file, UTF_8, null, out);
+    final long end = System.nanoTime();
+
+    // result
+    assertEquals(resolver.resolveAll(query.repeat(64)), out.toString());
+
+    final var readerOut = new StringWriter();
+    new StreamResolver(resolver, 5, 32).resolveAll(new StringReader(query), null, readerOut);
+    assertEquals(
+      "5 of 3,\na;b a very long option <random(x\n)> y",
+      readerOut.toString()
+    );
+    Files.delete(file);
+    System.out.printf("%s (%sns)%n", out.toString().length(), end - start);
+  }
+
+  @Test
+  void scanning_async() {
+    // query
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RandomPlaceholder())
+      .withPlaceholder(new DelayedEchoPlaceholder(new CountDownLatch(3)));
+    final String query = "<random(5)>: <echo(a)>, <echo(b)>, <echo(c)>";
+
+    // response
+    final String response = resolver.resolveAllAsync(query).join();
+
+    // result - the echoes are awaited concurrently, every one of them having started before any completes
+    assertEquals("5: a, b, c", response);
+  }
+
+  @Test
+  void scanning_caching_placeholder() {
+    // query
+    final var parses = new AtomicInteger();
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(
+        CachingPlaceholder
+          .of(new CountingPlaceholder(parses))
+          .expireAfterWrite(Duration.ofMinutes(1))
+          .maximumSize(16)
+          .build()
+      );
+    final String query = "<count(a)> <count(a)> <count(b)>";
+
+    // response
+    final long start = System.nanoTime();
+    final String response = resolver.resolveSingle(query, CountingPlaceholder.class);
+    final long end = System.nanoTime();
+
+    // result - registered by the wrapped type, parsed once per distinct invocation
+    assertEquals("1 1 2", response);
+    assertEquals("1 1 2", resolver.resolveAll(query));
+    assertEquals(2, parses.get());
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void scanning_batch() {
+    // query
+    final var parses = new AtomicInteger();
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RandomPlaceholder())
+      .withPlaceholder(new CountingPlaceholder(parses));
+    final var origins = IntStream
+      .range(0, 1_000)
+      .mapToObj(index -> format("line %s: <random(%s)>", index, index % 10))
+      .collect(Collectors.toList());
+
+    // response
+    final long start = System.nanoTime();
+    final var response = resolver.resolveAllBatch(origins, null);
+    final long end = System.nanoTime();
+
+    // result
+    for (int index = 0; index < origins.size(); index++)
+      assertEquals(resolver.resolveAll(origins.get(index)), response.get(index));
+    assertEquals(
+      List.of("a-0", "b-1"),
+      resolver.resolveAllBatchEach(List.of("a-<random(0)>", "b-<random(1)>"), List.of("x", "y"))
+    );
+
+    // identical origins are resolved once when deduplicating
+    final var deduplicated = resolver.resolveAllBatch(List.of("<count()>", "x", "<count()>"), null, true);
+    assertEquals(List.of("1", "x", "1"), deduplicated);
+    assertEquals(1, parses.get());
+    System.out.printf("%s lines (%sns)%n", response.size(), end - start);
+  }
+
+  @Test
+  void scanning_listener() {
+    // query
+    final var listener = new HistogramListener();
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(
+        CachingPlaceholder
+          .of(new CountingPlaceholder(new AtomicInteger()))
+          .maximumSize(16)
+          .build()
+      )
+      .withListener(listener);
+    final String query = "<range(single,1,9)> <range(unknown,1,9)> <count(a)> <count(a)>";
+
+    // response
+    final long start = System.nanoTime();
+    final String response = resolver.resolveAll(query);
+    final long end = System.nanoTime();
+
+    // result - every invocation and the resolve call itself are recorded
+    final var range = listener.tag("range");
+    assertEquals(2, range.count());
+    assertEquals(1, range.count(Outcome.SUCCESS));
+    assertEquals(1, range.count(Outcome.FALLBACK));
+    assertEquals(2, listener.tag("count").count(Outcome.SUCCESS));
+    assertEquals(1, listener.resolves().count());
+    assertEquals(response.length(), listener.resolves().totalLength());
+    assertTrue(range.percentile(50) <= range.percentile(99));
+    assertTrue(range.percentile(99) <= range.max());
+
+    // cache statistics are collected through the same listener
+    final var stats = resolver.cacheStats();
+    assertEquals(1, stats.get("count").hitCount());
+    assertNotNull(listener.cacheStats("count"));
+    System.out.printf("%s (%sns, p99 %sns)%n", response, end - start, range.percentile(99));
+  }
+
+  @Test
+  void scanning_parameters() {
+    // query
+    final var origins = List.of("", "a", "a,b", ",a", "a,,b", "a,b,,", ",,", "single,-12,34");
+
+    // response
+    final long start = System.nanoTime();
+    for (final String origin : origins) {
+      final var data = new DefaultData("<x(" + origin + ")>", 3, 3 + origin.length(), ',', '<', '>');
+      final var expected = origin.split(",");
+
+      // result - lazy views follow the split semantics
+      assertEquals(List.of(expected), List.of(data.parameters()));
+      assertEquals(expected.length, data.parameterCount());
+      for (int index = 0; index < expected.length; index++) {
+        assertEquals(expected[index], data.parameter(index).toString());
+        assertTrue(data.parameterEquals(index, expected[index]));
+      }
+    }
+    final var numbers = new DefaultData("<range(single,-12,34)>", 7, 20, ',', '<', '>');
+    assertEquals(-12, numbers.parseLongParameter(1));
+    assertEquals(34, numbers.parseLongParameter(2));
+    assertEquals("-12", numbers.origin.substring(numbers.parameterStart(1), numbers.parameterEnd(1)));
+    assertEquals(-1, new DefaultData("<x(a)>", new String[] { "a" }, '<', '>').parameterStart(0));
+    final long end = System.nanoTime();
+    System.out.printf("%s origins (%sns)%n", origins.size(), end - start);
+  }
+
+  @Test
+  void scanning_nesting() {
+    // query
+    final var parses = new AtomicInteger();
+    final var renderParses = new AtomicInteger();
+    final var resolver = new ScanningResolver('<', '>')
+      .withNesting(2)
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new CountingPlaceholder(parses))
+      .withPlaceholder(new PurePlaceholder("render", Purity.PER_RENDER, renderParses) {})
+      .withPlaceholder(new DelayedEchoPlaceholder());
+    final String query = "<echo(<echo(<range(single,7,8)>)>)> <count(x)> <count(x)> <echo(<count(x)>)> <render(x)> <echo(<render(x)>)> <echo(<echo(<echo(<echo(a)>)>)>)>";
+
+    // response
+    final long start = System.nanoTime();
+    final String response = resolver.resolveAll(query);
+    final long end = System.nanoTime();
+
+    // result - inner spans first, identical per-render invocations parsed once, volatile ones every time,
+    // deeper spans read as plain arguments
+    assertEquals("7 1 2 3 X1 X1 <echo(a)>", response);
+    assertEquals(3, parses.get());
+    assertEquals(1, renderParses.get());
+    assertEquals("<echo(a)>", new ScanningResolver('<', '>').withPlaceholder(new DelayedEchoPlaceholder()).resolveAll("<echo(<echo(a)>)>"));
+    System.out.printf("%s (%sns)%n", response, end - start);
+  }
+
+  @Test
+  void scanning_selection() {
+    // query
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new RandomPlaceholder())
+      .withPlaceholder(new DelayedEchoPlaceholder());
+    final var echo = resolver.selection(DelayedEchoPlaceholder.class, ApiPlaceholder.class);
+    final String query = "<echo(a)> <random(b)> <range(single,1,2)>";
+
+    // response
+    final long start = System.nanoTime();
+    final String selected = resolver.resolve(query, null, echo);
+    final String without = resolver.resolveAllWithout(query, null, echo);
+    final long end = System.nanoTime();
+
+    // result - ordinals are dense and in the order of registration, unregistered types are ignored
+    assertEquals(2, resolver.ordinal(DelayedEchoPlaceholder.class));
+    assertEquals(-1, resolver.ordinal(ApiPlaceholder.class));
+    assertEquals(1, echo.size());
+    assertEquals(echo, resolver.selection(List.of(DelayedEchoPlaceholder.class)));
+    assertEquals("a <random(b)> <range(single,1,2)>", selected);
+    assertEquals("<echo(a)> b 1", without);
+    assertEquals(selected, resolver.resolve(query, Set.of(DelayedEchoPlaceholder.class)));
+    final var pattern = new PatternResolver('<', '>').withPlaceholder(new DelayedEchoPlaceholder());
+    assertEquals(selected, pattern.resolve(query, null, pattern.selection(DelayedEchoPlaceholder.class)));
+    assertThrows(IllegalArgumentException.class, () -> SCANNING_RESOLVER.resolve(query, null, echo));
+    System.out.printf("%s | %s (%sns)%n", selected, without, end - start);
+  }
+
+  @Test
+  void scanning_purity() {
+    // query
+    final var pure = new AtomicInteger();
+    final var perRender = new AtomicInteger();
+    final var timeBounded = new AtomicInteger();
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new PurePlaceholder("upper", Purity.PURE, pure) {})
+      .withPlaceholder(new PurePlaceholder("once", Purity.PER_RENDER, perRender) {})
+      .withPlaceholder(new PurePlaceholder("minute", Purity.timeBounded(Duration.ofMinutes(1)), timeBounded) {});
+    final String query = "<upper(a)> <once(b)> <once(b)> <minute(c)>";
+
+    // response
+    final long start = System.nanoTime();
+    final var template = resolver.compile(query);
+    final String first = template.render();
+    final String second = template.render();
+    final long end = System.nanoTime();
+
+    // result - pure invocations folded at compile time, per-render ones parsed once per render, time bounded ones reused
+    assertEquals("A1 B1 B1 C1", first);
+    assertEquals("A1 B2 B2 C1", second);
+    assertEquals("A1 B3 B3 C1", template.renderAsync(null).join());
+    assertEquals(1, pure.get());
+    assertEquals(3, perRender.get());
+    assertEquals(1, timeBounded.get());
+    assertEquals(6, template.segments().size());
+    assertTrue(template.segments().get(0) instanceof Template.Literal);
+    System.out.printf("%s (%sns)%n", second, end - start);
+  }
+
+  @Test
+  void scanning_binding() {
+    // query
+    final var binds = new AtomicInteger();
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new RangePlaceholder())
+      .withPlaceholder(new SumPlaceholder(binds));
+    final String query = "<sum(1,2,3)> <sum(1,x)> <range(single,5,1)> <range(decimal,1,2,y)> <range(decimal,1,1.5,2)>";
+
+    // response
+    final long start = System.nanoTime();
+    final String first = resolver.resolveAll(query);
+    final String second = resolver.resolveAll(query);
+    final long end = System.nanoTime();
+
+    // result - arguments bound once per distinct invocation, malformed ones rendering the origin as is
+    assertEquals(first.substring(0, first.lastIndexOf(' ')), second.substring(0, second.lastIndexOf(' ')));
+    assertTrue(first.startsWith("6 <sum(1,x)> <range(single,5,1)> <range(decimal,1,2,y)> 1"));
+    assertEquals(4, first.substring(first.lastIndexOf(' ') + 1).length());
+    assertEquals(2, binds.get());
+
+    // templates bind at compile time, folding malformed invocations
+    final var template = resolver.compile(query);
+    assertEquals(2, template.segments().stream().filter(segment -> segment instanceof Template.Invocation).count());
+    assertEquals(first.substring(0, first.lastIndexOf(' ')), template.render().substring(0, first.lastIndexOf(' ')));
+    assertEquals(first.substring(0, first.lastIndexOf(' ')), template.renderAsync(null).join().substring(0, first.lastIndexOf(' ')));
+    assertEquals(4, binds.get());
+    System.out.printf("%s (%sns)%n", first, end - start);
+  }
+
+  @Test
+  void scanning_tags() {
+    // query
+    final var resolver = new ScanningResolver('<', '>')
+      .withPlaceholder(new EchoPlaceholder())
+      .withPlaceholder(new EmitPlaceholder())
+      .withPlaceholder(new EchoPlaceholder());
+    final String query = "<echo(a,b)> <emit()> <ech(a)> <echoes(a)> <(a)>";
+
+    // response
+    final String response = resolver.resolveAll(query);
+
+    // result - tags of equal length told apart, a second placeholder of a registered tag rejected
+    assertEquals("a;b <random(5)> <ech(a)> <echoes(a)> <(a)>", response);
+    assertThrows(IllegalArgumentException.class, () -> resolver.withPlaceholder(new Placeholder() {
+      @Override
+      public Object parse(Object customData, DefaultData defaultData) {
+        return "";
+      }
+
+      @Override
+      public String tag() {
+        return "echo";
+      }
+    }));
+    assertEquals(response, resolver.resolveAll(query));
+  }
+
+  /**
+   * This class represents a placeholder counting its parses.
+   */
+  private static final class CountingPlaceholder implements Placeholder {
+    private final AtomicInteger parses;
+
+    private CountingPlaceholder(AtomicInteger parses) {
+      this.parses = parses;
+    }
+
+    @Override
+    public Object parse(Object customData, DefaultData defaultData) {
+      return parses.incrementAndGet();
+    }
+
+    @Override
+    public String tag() {
+      return "count";
+    }
+  }
+
+  /**
+   * This class represents a placeholder summing its whole parameters, counting its binds.
+   */
+  private static final class SumPlaceholder implements BindingPlaceholder<Long> {
+    private final AtomicInteger binds;
+
+    private SumPlaceholder(AtomicInteger binds) {
+      this.binds = binds;
+    }
+
+    @Override
+    public Long bind(DefaultData defaultData) {
+      binds.incrementAndGet();
+      long sum = 0;
+      try {
+        for (int index = 0; index < defaultData.parameterCount(); index++)
+          sum += defaultData.parseLongParameter(index);
+      } catch (NumberFormatException ignored) {
+        return null;
+      }
+      return sum;
+    }
+
+    @Override
+    public void parseInto(Long sum, Object customData, DefaultData defaultData, Appendable out) throws IOException {
+      out.append(sum.toString());
+    }
+
+    @Override
+    public String tag() {
+      return "sum";
+    }
+  }
+
+  /**
+   * This class represents a placeholder of declared purity, writing its first parameter in upper case followed by its parse count.
+   * Subclassed per instance, as placeholders are registered by type.
+   */
+  private static abstract class PurePlaceholder implements Placeholder {
+    private final String tag;
+    private final Purity purity;
+    private final AtomicInteger parses;
+
+    private PurePlaceholder(String tag, Purity purity, AtomicInteger parses) {
+      this.tag = tag;
+      this.purity = purity;
+      this.parses = parses;
+    }
+
+    @Override
+    public Object parse(Object customData, DefaultData defaultData) {
+      return defaultData.parameters[0].toUpperCase() + parses.incrementAndGet();
+    }
+
+    @Override
+    public Purity purity() {
+      return purity;
+    }
+
+    @Override
+    public String tag() {
+      return tag;
+    }
+  }
+
+  /**
+   * This class represents a placeholder echoing its first parameter asynchronously,
+   * once every invocation expected by its rendezvous has started - "serial" if they never do.
+   */
+  private static final class DelayedEchoPlaceholder implements Placeholder {
+    private final CountDownLatch rendezvous;
+
+    private DelayedEchoPlaceholder() {
+      this(new CountDownLatch(0));
+    }
+
+    private DelayedEchoPlaceholder(CountDownLatch rendezvous) {
+      this.rendezvous = rendezvous;
+    }
+
+    @Override
+    public Object parse(Object customData, DefaultData defaultData) {
+      return defaultData.parameters[0];
+    }
+
+    @Override
+    public CompletableFuture<Object> parseAsync(Object customData, DefaultData defaultData) {
+      rendezvous.countDown();
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          return rendezvous.await(5, SECONDS) ? parse(customData, defaultData) : "serial";
+        } catch (InterruptedException exception) {
+          throw new CompletionException(exception);
+        }
+      }, command -> new Thread(command).start());
+    }
+
+    @Override
+    public String tag() {
+      return "echo";
+    }
+  }
+
+  /**
+   * This class represents a placeholder echoing its parameters, joined by a semicolon.
+   */
+  private static final class EchoPlaceholder implements Placeholder {
+    @Override
+    public Object parse(Object customData, DefaultData defaultData) {
+      return String.join(";", defaultData.parameters);
+    }
+
+    @Override
+    public String tag() {
+      return "echo";
+    }
+  }
+
+  /**
+   * This class represents a placeholder emitting the syntax of {@link RandomPlaceholder}.
+   */
+  private static final class EmitPlaceholder implements Placeholder {
+    @Override
+    public Object parse(Object customData, DefaultData defaultData) {
+      return "<random(5)>";
+    }
+
+    @Override
+    public String tag() {
+      return "emit";
+    }
+  }
+}